@@ -0,0 +1,178 @@
+#!/usr/bin/env node
+// Concurrency check for order assignment: creates a set of pending orders and some trips, then has many
+// dispatchers assign overlapping random subsets of the orders to different trips at the same moment.
+// Passes when every order ended up on exactly one trip, each response's claimed orders and conflicts agree
+// with the final state, and the daily trip stats rollup shows no drift.
+//
+//   node loadtest/assign-stress.mjs --base http://localhost:8090 --user admin --password admin123 \
+//       --vendor 1 --drivers 1,2,3 --orders 200 --trips 6 --assigners 48 --rounds 5
+//
+// Needs Node 18+ (global fetch); no packages to install. It creates real trips and orders dated today, so
+// point it at a throwaway database.
+
+import { parseArgs } from 'node:util';
+
+const { values: args } = parseArgs({
+  options: {
+    base: { type: 'string', default: 'http://localhost:8090' },
+    user: { type: 'string', default: 'admin' },
+    password: { type: 'string', default: 'admin123' },
+    vendor: { type: 'string', default: '1' },
+    drivers: { type: 'string', default: '1' }, // Trips are spread over these driver ids
+    orders: { type: 'string', default: '200' }, // Pending orders created per round
+    trips: { type: 'string', default: '6' }, // Trips created per round
+    assigners: { type: 'string', default: '48' }, // Concurrent assign requests per round
+    rounds: { type: 'string', default: '5' },
+  },
+});
+
+const today = new Date().toISOString().slice(0, 10);
+let headers;
+
+async function call(method, path, body) {
+  const response = await fetch(args.base + path, {
+    method,
+    headers,
+    body: body === undefined ? undefined : JSON.stringify(body),
+  });
+  const text = await response.text();
+  return { status: response.status, body: text ? JSON.parse(text) : null };
+}
+
+async function login() {
+  const response = await fetch(`${args.base}/api/auth/login`, {
+    method: 'POST',
+    headers: { 'Content-Type': 'application/json' },
+    body: JSON.stringify({ username: args.user, password: args.password }),
+  });
+  if (!response.ok) {
+    throw new Error(`Login failed with HTTP ${response.status}`);
+  }
+  return (await response.json()).token;
+}
+
+function randomSubset(ids) {
+  const shuffled = [...ids];
+  for (let i = shuffled.length - 1; i > 0; i--) {
+    const j = Math.floor(Math.random() * (i + 1));
+    [shuffled[i], shuffled[j]] = [shuffled[j], shuffled[i]];
+  }
+  return shuffled.slice(0, Math.max(1, Math.floor(shuffled.length / 2)));
+}
+
+async function runRound(round) {
+  const drivers = args.drivers.split(',').map(Number);
+  const tripIds = [];
+  for (let t = 0; t < Number(args.trips); t++) {
+    const { status, body } = await call('POST', '/api/trips', {
+      tripDate: today,
+      driverId: drivers[t % drivers.length],
+      routeName: `Stress ${round}.${t}`,
+      loadedWeight: 500,
+    });
+    if (status >= 300) {
+      throw new Error(`Creating a trip failed with HTTP ${status}`);
+    }
+    tripIds.push(body.id);
+  }
+  const orderIds = [];
+  for (let o = 0; o < Number(args.orders); o++) {
+    const { status, body } = await call('POST', '/api/dispatch/orders', {
+      vendorId: Number(args.vendor),
+      assignedUnits: 1 + (o % 10),
+      orderDate: today,
+    });
+    if (status >= 300) {
+      throw new Error(`Creating an order failed with HTTP ${status}`);
+    }
+    orderIds.push(body.id);
+  }
+
+  const requests = Array.from({ length: Number(args.assigners) }, (_, i) => ({
+    tripId: tripIds[i % tripIds.length],
+    orderIds: randomSubset(orderIds),
+  }));
+  const started = Date.now();
+  const responses = await Promise.all(requests.map((r) => call('POST', '/api/dispatch/assign-orders', r)));
+  const elapsed = Date.now() - started;
+
+  const problems = [];
+  const winner = new Map(); // orderId -> tripId that claimed it
+  for (const [i, { status, body }] of responses.entries()) {
+    if (status !== 200) {
+      problems.push(`request ${i} failed with HTTP ${status}: ${JSON.stringify(body)}`);
+      continue;
+    }
+    for (const id of body.assignedOrderIds) {
+      if (winner.has(id)) {
+        problems.push(`order ${id} claimed by trips ${winner.get(id)} and ${body.tripId}`);
+      }
+      winner.set(id, body.tripId);
+    }
+  }
+  for (const [i, { status, body }] of responses.entries()) {
+    if (status !== 200) {
+      continue;
+    }
+    for (const id of body.unchangedOrderIds) {
+      if (winner.get(id) !== body.tripId) {
+        problems.push(`request ${i} saw order ${id} as already on trip ${body.tripId}, but trip ${winner.get(id)} claimed it`);
+      }
+    }
+    for (const conflict of body.conflicts) {
+      if (winner.get(conflict.orderId) !== conflict.tripId) {
+        problems.push(`request ${i} reported order ${conflict.orderId} on trip ${conflict.tripId}, but trip ${winner.get(conflict.orderId)} claimed it`);
+      }
+    }
+  }
+
+  const onTrip = new Map(); // orderId -> tripId, as the server has it now
+  for (const tripId of tripIds) {
+    const { body } = await call('GET', `/api/trips/${tripId}`);
+    for (const order of body.orders ?? []) {
+      if (onTrip.has(order.id)) {
+        problems.push(`order ${order.id} is on trips ${onTrip.get(order.id)} and ${tripId}`);
+      }
+      onTrip.set(order.id, tripId);
+    }
+  }
+  for (const [id, tripId] of winner) {
+    if (onTrip.get(id) !== tripId) {
+      problems.push(`order ${id} was claimed by trip ${tripId} but is on trip ${onTrip.get(id)}`);
+    }
+  }
+  if (onTrip.size !== winner.size) {
+    problems.push(`${onTrip.size} orders are on the trips, but ${winner.size} were claimed`);
+  }
+
+  return {
+    round,
+    requests: responses.length,
+    conflicted: responses.filter((r) => r.status === 200 && r.body.conflicts.length > 0).length,
+    claimed: winner.size,
+    unrequested: orderIds.length - new Set(requests.flatMap((r) => r.orderIds)).size,
+    'ms': elapsed,
+    problems,
+  };
+}
+
+headers = { Authorization: `Bearer ${await login()}`, 'Content-Type': 'application/json' };
+const results = [];
+for (let round = 1; round <= Number(args.rounds); round++) {
+  results.push(await runRound(round));
+}
+
+const drift = await call('GET', `/api/reports/trip-stats/drift?startDate=${today}&endDate=${today}`);
+const problems = results.flatMap((r) => r.problems.map((p) => `round ${r.round}: ${p}`));
+if (drift.status === 200 && drift.body.length > 0) {
+  problems.push(`trip stats drifted: ${JSON.stringify(drift.body)}`);
+}
+
+console.log(`assign-orders against ${args.base}`);
+console.table(results.map(({ problems: p, ...r }) => ({ ...r, problems: p.length })));
+if (problems.length > 0) {
+  problems.slice(0, 20).forEach((p) => console.error(p));
+  console.error(`FAILED: ${problems.length} problems`);
+  process.exit(1);
+}
+console.log('OK: every order was claimed by exactly one assigner');
@@ -0,0 +1,122 @@
+#!/usr/bin/env node
+// Closed-loop load test for the backend: N concurrent clients each repeat a request for a fixed time,
+// then report throughput and latency percentiles. Run it once with VIRTUAL_THREADS=true and once with
+// VIRTUAL_THREADS=false on the server to compare the two request-handling modes.
+//
+//   node loadtest/load-test.mjs --base http://localhost:8090 --user drv1 --password secret \
+//       --path /api/mobile/trips/today --concurrency 50,200,500 --duration 20
+//
+// Needs Node 18+ (global fetch); no packages to install. When the actuator metrics endpoint is exposed,
+// the server-side peak of in-flight requests (http.server.requests.active) is sampled during each step.
+
+import { parseArgs } from 'node:util';
+
+const { values: args } = parseArgs({
+  options: {
+    base: { type: 'string', default: 'http://localhost:8090' },
+    user: { type: 'string', default: 'admin' },
+    password: { type: 'string', default: 'admin123' },
+    path: { type: 'string', default: '/api/mobile/trips/today' },
+    concurrency: { type: 'string', default: '10,50,200' },
+    duration: { type: 'string', default: '15' }, // Seconds per concurrency step
+    warmup: { type: 'string', default: '3' }, // Seconds of unrecorded load before each step
+  },
+});
+
+const durationMs = Number(args.duration) * 1000;
+const warmupMs = Number(args.warmup) * 1000;
+
+async function login() {
+  const response = await fetch(`${args.base}/api/auth/login`, {
+    method: 'POST',
+    headers: { 'Content-Type': 'application/json' },
+    body: JSON.stringify({ username: args.user, password: args.password }),
+  });
+  if (!response.ok) {
+    throw new Error(`Login failed with HTTP ${response.status}`);
+  }
+  return (await response.json()).token;
+}
+
+async function activeRequests(token) {
+  try {
+    const response = await fetch(`${args.base}/actuator/metrics/http.server.requests.active`, {
+      headers: { Authorization: `Bearer ${token}` },
+    });
+    if (!response.ok) {
+      return null;
+    }
+    const body = await response.json();
+    const active = body.measurements.find((m) => m.statistic === 'ACTIVE_TASKS');
+    return active ? active.value : null;
+  } catch {
+    return null;
+  }
+}
+
+async function client(token, until, latencies, counts) {
+  const headers = { Authorization: `Bearer ${token}` };
+  while (Date.now() < until) {
+    const start = process.hrtime.bigint();
+    try {
+      const response = await fetch(args.base + args.path, { headers });
+      await response.arrayBuffer();
+      if (response.ok) {
+        latencies?.push(Number(process.hrtime.bigint() - start) / 1e6);
+        counts.ok++;
+      } else {
+        counts.errors++;
+      }
+    } catch {
+      counts.errors++;
+    }
+  }
+}
+
+function percentile(sorted, p) {
+  if (sorted.length === 0) {
+    return NaN;
+  }
+  return sorted[Math.min(sorted.length - 1, Math.ceil((p / 100) * sorted.length) - 1)];
+}
+
+async function runStep(token, concurrency) {
+  const warmupCounts = { ok: 0, errors: 0 };
+  const warmupUntil = Date.now() + warmupMs;
+  await Promise.all(Array.from({ length: concurrency }, () => client(token, warmupUntil, null, warmupCounts)));
+
+  const latencies = [];
+  const counts = { ok: 0, errors: 0 };
+  let peakActive = null;
+  const sampler = setInterval(async () => {
+    const active = await activeRequests(token);
+    if (active !== null) {
+      peakActive = Math.max(peakActive ?? 0, active);
+    }
+  }, 250);
+
+  const started = Date.now();
+  await Promise.all(Array.from({ length: concurrency }, () => client(token, started + durationMs, latencies, counts)));
+  const elapsed = (Date.now() - started) / 1000;
+  clearInterval(sampler);
+
+  latencies.sort((a, b) => a - b);
+  return {
+    concurrency,
+    requests: counts.ok,
+    errors: counts.errors,
+    'req/s': Math.round(counts.ok / elapsed),
+    'p50 ms': percentile(latencies, 50).toFixed(1),
+    'p99 ms': percentile(latencies, 99).toFixed(1),
+    'max ms': (latencies[latencies.length - 1] ?? NaN).toFixed(1),
+    'peak in-flight': peakActive ?? 'n/a',
+  };
+}
+
+const token = await login();
+const results = [];
+for (const concurrency of args.concurrency.split(',').map(Number)) {
+  results.push(await runStep(token, concurrency));
+}
+console.log(`${args.path} against ${args.base}`);
+console.table(results);
@@ -3,9 +3,11 @@ package com.example.broiler;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.ComponentScan;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @ComponentScan(basePackages = "com.example.broiler") // Explicitly scan the base package
+@EnableScheduling
 public class BroilerApplication {
     public static void main(String[] args) {
         SpringApplication.run(BroilerApplication.class, args);
@@ -2,6 +2,9 @@ package com.example.broiler.dev;
 
 import com.example.broiler.domain.*;
 import com.example.broiler.repository.*;
+import com.example.broiler.service.LedgerProjectionService;
+import com.example.broiler.service.TripStatsService;
+import com.example.broiler.service.VendorService;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -24,12 +27,14 @@ public class DataInitializer implements CommandLineRunner {
 
     private final AdminRepository adminRepository;
     private final DriverRepository driverRepository;
-    private final VendorRepository vendorRepository;
+    private final VendorService vendorService;
     private final TripRepository tripRepository;
     private final OrderRepository orderRepository;
     private final DailySummaryRepository dailySummaryRepository; // Inject DailySummaryRepository
     private final VendorPaymentRepository vendorPaymentRepository; // Inject VendorPaymentRepository
     private final PasswordEncoder passwordEncoder;
+    private final LedgerProjectionService ledgerProjectionService;
+    private final TripStatsService tripStatsService;
 
     @Override
     public void run(String... args) {
@@ -66,10 +71,10 @@ public class DataInitializer implements CommandLineRunner {
                 .build());
 
         // --- Create Vendors ---
-        Vendor vendor1 = vendorRepository.save(Vendor.builder().name("KFC").rateOffset(BigDecimal.valueOf(0.1)).build());
-        Vendor vendor2 = vendorRepository.save(Vendor.builder().name("Popeyes").rateOffset(BigDecimal.valueOf(-0.05)).build());
-        Vendor vendor3 = vendorRepository.save(Vendor.builder().name("Churches").rateOffset(BigDecimal.ZERO).build());
-        Vendor vendor4 = vendorRepository.save(Vendor.builder().name("Chick-fil-A").rateOffset(BigDecimal.valueOf(0.02)).build());
+        Vendor vendor1 = vendorService.create(Vendor.builder().name("KFC").rateOffset(BigDecimal.valueOf(0.1)).build());
+        Vendor vendor2 = vendorService.create(Vendor.builder().name("Popeyes").rateOffset(BigDecimal.valueOf(-0.05)).build());
+        Vendor vendor3 = vendorService.create(Vendor.builder().name("Churches").rateOffset(BigDecimal.ZERO).build());
+        Vendor vendor4 = vendorService.create(Vendor.builder().name("Chick-fil-A").rateOffset(BigDecimal.valueOf(0.02)).build());
 
         // --- Create a Trip with pre-assigned orders for John Doe ---
         Trip preAssignedTrip = Trip.builder()
@@ -139,7 +144,7 @@ public class DataInitializer implements CommandLineRunner {
                 .dueAmount(BigDecimal.valueOf(-1034.45)) // 165.55 - 1200.00
                 .isFinalized(false)
                 .build();
-        dailySummaryRepository.save(summary1);
+        ledgerProjectionService.appendInvoice(dailySummaryRepository.save(summary1));
 
         // --- Create sample VendorPayment ---
         VendorPayment payment1 = VendorPayment.builder()
@@ -149,6 +154,9 @@ public class DataInitializer implements CommandLineRunner {
                 .paymentMethod("Cash")
                 .notes("Advance payment")
                 .build();
-        vendorPaymentRepository.save(payment1);
+        ledgerProjectionService.appendPayment(vendorPaymentRepository.save(payment1));
+
+        // Trips and orders above were saved directly, so derive their rollup in one pass
+        tripStatsService.rebuildAll();
     }
 }
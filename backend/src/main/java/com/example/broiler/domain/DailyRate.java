@@ -14,7 +14,8 @@ import java.time.LocalDate;
 @Builder
 public class DailyRate {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "daily_rate_seq")
+    @SequenceGenerator(name = "daily_rate_seq", sequenceName = "daily_rate_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, unique = true)
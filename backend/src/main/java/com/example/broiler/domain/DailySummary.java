@@ -6,9 +6,11 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 
 @Entity
+@Table(indexes = @Index(name = "idx_daily_summary_vendor_date", columnList = "vendor_id, summary_date", unique = true))
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
 public class DailySummary {
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Id @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "daily_summary_seq")
+    @SequenceGenerator(name = "daily_summary_seq", sequenceName = "daily_summary_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(optional = false)
@@ -0,0 +1,34 @@
+package com.example.broiler.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDate;
+
+/**
+ * Per-day rollup of trips and their assigned orders, kept current by TripStatsService as trips and
+ * assignments are written so dashboards and reports read one row per day instead of aggregating live.
+ */
+@Entity
+@Table(name = "daily_trip_stats",
+        indexes = @Index(name = "idx_daily_trip_stats_date", columnList = "stat_date", unique = true))
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class DailyTripStats {
+    @Id @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "daily_trip_stats_seq")
+    @SequenceGenerator(name = "daily_trip_stats_seq", sequenceName = "daily_trip_stats_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false)
+    private LocalDate statDate;
+
+    @Column(nullable = false)
+    private Integer totalTrips;
+
+    @Column(nullable = false)
+    private Integer completedTrips;
+
+    @Column(nullable = false)
+    private Integer totalOrders;
+
+    @Column(nullable = false)
+    private Long totalUnits;
+}
@@ -6,7 +6,8 @@ import lombok.*;
 @Entity
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
 public class DeliveryLine {
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Id @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "delivery_line_seq")
+    @SequenceGenerator(name = "delivery_line_seq", sequenceName = "delivery_line_seq", allocationSize = 50)
     private Long id;
 
     private Double weight;
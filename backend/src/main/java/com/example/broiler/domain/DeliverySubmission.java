@@ -0,0 +1,31 @@
+package com.example.broiler.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.Instant;
+
+/**
+ * An applied delivery entry, remembered by the submitting user's idempotency key so a replay of the same
+ * entry is recognised. Written by DeliverySubmissionService with INSERT ... ON CONFLICT DO NOTHING.
+ */
+@Entity
+@Table(name = "delivery_submission",
+        indexes = @Index(name = "idx_delivery_submission_user_key", columnList = "submitted_by, idempotency_key", unique = true))
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class DeliverySubmission {
+    @Id @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "delivery_submission_seq")
+    @SequenceGenerator(name = "delivery_submission_seq", sequenceName = "delivery_submission_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false)
+    private String submittedBy;
+
+    @Column(nullable = false, length = 100)
+    private String idempotencyKey;
+
+    @Column(nullable = false)
+    private Long orderId;
+
+    @Column(nullable = false)
+    private Instant submittedAt;
+}
@@ -3,14 +3,19 @@ package com.example.broiler.domain;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+        @Index(name = "idx_orders_status_date_id", columnList = "status, order_date, id"),
+        @Index(name = "idx_orders_trip_updated_at", columnList = "trip_id, updated_at")})
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
 public class Order {
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Id @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq")
+    @SequenceGenerator(name = "orders_seq", sequenceName = "orders_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(optional = false)
@@ -41,4 +46,23 @@ public class Order {
     private Trip trip;
 
     // We will add a link to DailySummary later if needed, keeping it simple for now.
+
+    // Optimistic lock: a write based on a stale read fails instead of overwriting a concurrent change.
+    // The default lets ddl-auto add the column to a populated dev database, as V8 does in production.
+    @Version
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private Long version;
+
+    // Set on every insert and update through JPA; the driver app's delta sync reads changes by it. The default
+    // lets ddl-auto add the column to a populated dev database, where the V6 migration does not run.
+    @Column(nullable = false)
+    @ColumnDefault("CURRENT_TIMESTAMP")
+    private Instant updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    void touch() {
+        updatedAt = Instant.now();
+    }
 }
@@ -6,7 +6,8 @@ import lombok.*;
 @Entity
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
 public class RateSettings {
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Id @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "rate_settings_seq")
+    @SequenceGenerator(name = "rate_settings_seq", sequenceName = "rate_settings_seq", allocationSize = 50)
     private Long id;
 
     @Column(unique = true, nullable = false)
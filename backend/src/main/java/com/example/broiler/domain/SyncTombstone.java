@@ -0,0 +1,34 @@
+package com.example.broiler.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.Instant;
+
+/**
+ * Records that an order or trip left a driver's view (unassigned from their trip, or the trip reassigned),
+ * so the driver app's delta sync can tell the device to drop it. Kept only as long as a sync token stays usable.
+ */
+@Entity
+@Table(name = "sync_tombstone",
+        indexes = @Index(name = "idx_sync_tombstone_driver_removed", columnList = "driver_id, removed_at"))
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class SyncTombstone {
+    public static final String ORDER = "ORDER";
+    public static final String TRIP = "TRIP";
+
+    @Id @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sync_tombstone_seq")
+    @SequenceGenerator(name = "sync_tombstone_seq", sequenceName = "sync_tombstone_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    private Driver driver;
+
+    @Column(nullable = false)
+    private String entityType;
+
+    @Column(nullable = false)
+    private Long entityId;
+
+    @Column(nullable = false)
+    private Instant removedAt;
+}
@@ -3,10 +3,13 @@ package com.example.broiler.domain;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.List;
 
 @Entity
+@Table(indexes = @Index(name = "idx_trip_driver_date", columnList = "driver_id, trip_date"))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -14,7 +17,8 @@ import java.util.List;
 @Builder
 public class Trip {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "trip_seq")
+    @SequenceGenerator(name = "trip_seq", sequenceName = "trip_seq", allocationSize = 50)
     private Long id;
 
     private LocalDate tripDate;
@@ -36,4 +40,23 @@ public class Trip {
     @OneToMany(mappedBy = "trip")
     @JsonManagedReference
     private List<Order> orders;
+
+    // Optimistic lock: a write based on a stale read fails instead of overwriting a concurrent change.
+    // The default lets ddl-auto add the column to a populated dev database, as V8 does in production.
+    @Version
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private Long version;
+
+    // Set on every insert and update through JPA; the driver app's delta sync reads changes by it. The default
+    // lets ddl-auto add the column to a populated dev database, where the V6 migration does not run.
+    @Column(nullable = false)
+    @ColumnDefault("CURRENT_TIMESTAMP")
+    private Instant updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    void touch() {
+        updatedAt = Instant.now();
+    }
 }
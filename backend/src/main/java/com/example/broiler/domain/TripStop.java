@@ -6,7 +6,8 @@ import lombok.*;
 @Entity
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
 public class TripStop {
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Id @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "trip_stop_seq")
+    @SequenceGenerator(name = "trip_stop_seq", sequenceName = "trip_stop_seq", allocationSize = 50)
     private Long id;
 
     private Integer sequence;
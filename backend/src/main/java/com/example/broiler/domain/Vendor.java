@@ -13,7 +13,8 @@ import java.math.BigDecimal;
 @Builder
 public class Vendor {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "vendor_seq")
+    @SequenceGenerator(name = "vendor_seq", sequenceName = "vendor_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -25,6 +26,7 @@ public class Vendor {
 
     private BigDecimal rateOffset;
 
-    @Column(precision = 10, scale = 2)
+    // Only ever written by VendorRepository's atomic UPDATEs, so a stale entity can never overwrite it
+    @Column(precision = 10, scale = 2, insertable = false, updatable = false)
     private BigDecimal currentBalance; // Cached balance from ledger
 }
@@ -2,11 +2,15 @@ package com.example.broiler.domain;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_vendor_ledger_vendor_date_seq", columnList = "vendor_id, date, seq"),
+        @Index(name = "idx_vendor_ledger_vendor_seq", columnList = "vendor_id, seq")})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -14,7 +18,8 @@ import java.time.LocalDate;
 @Builder
 public class VendorLedger {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "vendor_ledger_seq")
+    @SequenceGenerator(name = "vendor_ledger_seq", sequenceName = "vendor_ledger_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(optional = false)
@@ -23,6 +28,12 @@ public class VendorLedger {
     @Column(nullable = false)
     private LocalDate date;
 
+    // Posting order within the vendor, assigned under the vendor's row lock; ids from the pooled sequence are
+    // not in insertion order. 0 marks a row written before it existed, which the startup backfill rebuilds.
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private Long seq;
+
     private String description;
 
     @Column(precision = 10, scale = 2)
@@ -34,5 +45,7 @@ public class VendorLedger {
     @Column(precision = 10, scale = 2)
     private BigDecimal balance; // Running Balance
 
-    private String referenceId; // Order ID or Payment ID
+    private String referenceId; // DailySummary ID or VendorPayment ID
+
+    private String type; // "INVOICE" or "PAYMENT"
 }
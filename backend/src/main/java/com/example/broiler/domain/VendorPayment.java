@@ -6,9 +6,11 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 
 @Entity
+@Table(indexes = @Index(name = "idx_vendor_payment_vendor_date", columnList = "vendor_id, payment_date"))
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
 public class VendorPayment {
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Id @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "vendor_payment_seq")
+    @SequenceGenerator(name = "vendor_payment_seq", sequenceName = "vendor_payment_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(optional = false)
@@ -8,9 +8,11 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 
 @Entity
+@Table(indexes = @Index(name = "idx_vendor_rate_offset_vendor_date", columnList = "vendor_id, effective_date", unique = true))
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
 public class VendorRateOffset {
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Id @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "vendor_rate_offset_seq")
+    @SequenceGenerator(name = "vendor_rate_offset_seq", sequenceName = "vendor_rate_offset_seq", allocationSize = 50)
     private Long id;
 
     private BigDecimal offsetValue;
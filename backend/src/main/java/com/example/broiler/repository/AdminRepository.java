@@ -2,14 +2,29 @@ package com.example.broiler.repository;
 
 import com.example.broiler.domain.Admin;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
 import java.util.Optional;
-import java.time.LocalDate;
-import java.util.List;
 
 public interface AdminRepository extends JpaRepository<Admin, Long> {
     Optional<Admin> findByUsername(String username);
-    
-    
-    
-    
+
+    /**
+     * The admin or driver with this username, in one statement over both unique username indexes.
+     * An admin wins if both tables have the name, matching the order login has always checked them in.
+     */
+    @Query(value = "SELECT p.role AS role, p.username AS username, p.password AS password FROM (" +
+            "SELECT 'ROLE_ADMIN' AS role, a.username AS username, a.password AS password, 0 AS priority " +
+            "FROM admin a WHERE a.username = :username " +
+            "UNION ALL " +
+            "SELECT 'ROLE_DRIVER', d.username, d.password, 1 FROM driver d WHERE d.username = :username) p " +
+            "ORDER BY p.priority LIMIT 1", nativeQuery = true)
+    Optional<LoginPrincipal> findLoginPrincipal(@Param("username") String username);
+
+    interface LoginPrincipal {
+        String getRole();
+        String getUsername();
+        String getPassword();
+    }
 }
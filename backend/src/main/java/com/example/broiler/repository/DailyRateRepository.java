@@ -1,9 +1,9 @@
 package com.example.broiler.repository;
 
 import com.example.broiler.domain.DailyRate;
-import com.example.broiler.web.dto.HistoricalRateDto;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -12,6 +12,18 @@ import java.util.Optional;
 public interface DailyRateRepository extends JpaRepository<DailyRate, Long> {
     Optional<DailyRate> findByDate(LocalDate date);
 
-    @Query("SELECT new com.example.broiler.web.dto.HistoricalRateDto(dr.date, dr.rate) FROM DailyRate dr ORDER BY dr.date DESC")
-    List<HistoricalRateDto> getCombinedRateHistory();
+    /**
+     * Rates in a date range grouped into date_trunc buckets ('day', 'week', 'month', 'quarter' or 'year'),
+     * oldest first. Each row is (bucket start, average, min, max, count); the range scan uses the unique date index.
+     * The field is picked with CASE because date_trunc only takes a literal field name on some databases.
+     */
+    @Query(value = "SELECT b.bucket, AVG(b.rate), MIN(b.rate), MAX(b.rate), COUNT(*) FROM (" +
+            "SELECT CASE :unit WHEN 'day' THEN date_trunc('day', dr.date) WHEN 'week' THEN date_trunc('week', dr.date) " +
+            "WHEN 'month' THEN date_trunc('month', dr.date) WHEN 'quarter' THEN date_trunc('quarter', dr.date) " +
+            "ELSE date_trunc('year', dr.date) END AS bucket, dr.rate AS rate FROM daily_rate dr " +
+            "WHERE dr.date BETWEEN :startDate AND :endDate) b " +
+            "GROUP BY b.bucket ORDER BY b.bucket", nativeQuery = true)
+    List<Object[]> getRateHistoryBuckets(@Param("unit") String unit,
+                                         @Param("startDate") LocalDate startDate,
+                                         @Param("endDate") LocalDate endDate);
 }
@@ -0,0 +1,23 @@
+package com.example.broiler.repository;
+
+import com.example.broiler.domain.DailyTripStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface DailyTripStatsRepository extends JpaRepository<DailyTripStats, Long> {
+
+    List<DailyTripStats> findByStatDateBetweenOrderByStatDate(LocalDate startDate, LocalDate endDate);
+
+    @Modifying
+    @Query("DELETE FROM DailyTripStats s WHERE s.statDate BETWEEN :startDate AND :endDate")
+    int deleteByStatDateBetween(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    @Modifying
+    @Query("DELETE FROM DailyTripStats s")
+    int deleteAllRows();
+}
@@ -0,0 +1,16 @@
+package com.example.broiler.repository;
+
+import com.example.broiler.domain.DeliverySubmission;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+
+public interface DeliverySubmissionRepository extends JpaRepository<DeliverySubmission, Long> {
+
+    @Modifying
+    @Query("DELETE FROM DeliverySubmission s WHERE s.submittedAt < :cutoff")
+    int deleteSubmittedBefore(@Param("cutoff") Instant cutoff);
+}
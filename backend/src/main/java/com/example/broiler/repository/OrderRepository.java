@@ -4,12 +4,78 @@ import com.example.broiler.domain.Order;
 import com.example.broiler.domain.OrderStatus;
 import com.example.broiler.domain.Trip;
 import com.example.broiler.domain.Vendor;
+import com.example.broiler.web.dto.OrderDto;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 public interface OrderRepository extends JpaRepository<Order, Long> {
+
+    /**
+     * Select and join for the read-side order views: only the columns a dispatch card shows, in one statement.
+     */
+    String ORDER_ROWS = "SELECT new com.example.broiler.web.dto.OrderDto(o.id, v.id, v.name, o.orderDate, " +
+            "o.assignedUnits, o.deliveredUnits, o.weight, o.paymentAmount, o.status, o.trip.id) " +
+            "FROM Order o JOIN o.vendor v ";
+
     List<Order> findByStatus(OrderStatus status);
+
+    long countByStatus(OrderStatus status);
+
+    long countByStatusAndOrderDateBetween(OrderStatus status, LocalDate startDate, LocalDate endDate);
+
+    /**
+     * First keyset page of orders in a status and date range, oldest first, projected with the vendor name.
+     */
+    @Query(ORDER_ROWS + "WHERE o.status = :status " +
+            "AND o.orderDate BETWEEN :startDate AND :endDate ORDER BY o.orderDate, o.id")
+    List<OrderDto> findPageByStatus(@Param("status") OrderStatus status,
+                                    @Param("startDate") LocalDate startDate,
+                                    @Param("endDate") LocalDate endDate,
+                                    Pageable pageable);
+
+    /**
+     * Next keyset page: orders strictly after the (afterDate, afterId) cursor.
+     */
+    @Query(ORDER_ROWS + "WHERE o.status = :status " +
+            "AND o.orderDate BETWEEN :startDate AND :endDate " +
+            "AND (o.orderDate > :afterDate OR (o.orderDate = :afterDate AND o.id > :afterId)) " +
+            "ORDER BY o.orderDate, o.id")
+    List<OrderDto> findPageByStatusAfter(@Param("status") OrderStatus status,
+                                         @Param("startDate") LocalDate startDate,
+                                         @Param("endDate") LocalDate endDate,
+                                         @Param("afterDate") LocalDate afterDate,
+                                         @Param("afterId") Long afterId,
+                                         Pageable pageable);
+    /**
+     * Orders by id with vendor, trip and driver loaded in the same statement, for applying a batch of updates.
+     */
+    @Query("SELECT o FROM Order o JOIN FETCH o.vendor LEFT JOIN FETCH o.trip t LEFT JOIN FETCH t.driver WHERE o.id IN :ids")
+    List<Order> findAllByIdWithVendorAndTrip(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Current state of the given orders, projected, for reporting what an assignment could not claim.
+     */
+    @Query(ORDER_ROWS + "WHERE o.id IN :ids")
+    List<OrderDto> findRowsByIdIn(@Param("ids") Collection<Long> ids);
+
     List<Order> findByTrip(Trip trip);
     List<Order> findByVendorAndOrderDate(Vendor vendor, LocalDate date);
+
+    @Query("SELECT o FROM Order o JOIN FETCH o.vendor WHERE o.orderDate = :date")
+    List<Order> findByOrderDateWithVendor(@Param("date") LocalDate date);
+
+    /**
+     * All trip-assigned orders of a vendor in a date range, with trip and driver loaded in the same statement.
+     */
+    @Query("SELECT o FROM Order o JOIN FETCH o.trip t JOIN FETCH t.driver " +
+            "WHERE o.vendor.id = :vendorId AND o.orderDate BETWEEN :startDate AND :endDate")
+    List<Order> findByVendorIdAndOrderDateBetweenWithTripAndDriver(@Param("vendorId") Long vendorId,
+                                                                   @Param("startDate") LocalDate startDate,
+                                                                   @Param("endDate") LocalDate endDate);
 }
@@ -0,0 +1,20 @@
+package com.example.broiler.repository;
+
+import com.example.broiler.domain.SyncTombstone;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface SyncTombstoneRepository extends JpaRepository<SyncTombstone, Long> {
+
+    @Query("SELECT t FROM SyncTombstone t WHERE t.driver.username = :username AND t.removedAt > :since")
+    List<SyncTombstone> findForDriverSince(@Param("username") String username, @Param("since") Instant since);
+
+    @Modifying
+    @Query("DELETE FROM SyncTombstone t WHERE t.removedAt < :cutoff")
+    int deleteRemovedBefore(@Param("cutoff") Instant cutoff);
+}
@@ -1,31 +1,84 @@
 package com.example.broiler.repository;
 
 import com.example.broiler.domain.Trip;
+import com.example.broiler.web.dto.DailyTripSummaryDto;
+import com.example.broiler.web.dto.TripOrderRow;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface TripRepository extends JpaRepository<Trip, Long> {
 
-    @Query("SELECT t FROM Trip t LEFT JOIN FETCH t.orders o LEFT JOIN FETCH o.vendor LEFT JOIN FETCH t.driver WHERE t.tripDate = :date")
-    List<Trip> findByTripDateWithOrdersAndVendors(@Param("date") LocalDate date);
+    /**
+     * Select and join shared by the read-side trip queries: one flat row per (trip, order), carrying only the
+     * columns the trip views show. Trips without orders come back as a single row with null order columns.
+     */
+    String TRIP_ORDER_COLUMNS = "SELECT new com.example.broiler.web.dto.TripOrderRow(t.id, t.tripDate, t.status, " +
+            "t.routeName, t.loadedWeight, t.stockWeight, d.id, d.name, o.id, v.id, v.name, o.orderDate, " +
+            "o.assignedUnits, o.deliveredUnits, o.weight, o.paymentAmount, o.status) ";
 
-    @Query("SELECT t FROM Trip t LEFT JOIN FETCH t.orders o LEFT JOIN FETCH o.vendor LEFT JOIN FETCH t.driver d WHERE t.tripDate = :date AND d.username = :username")
-    List<Trip> findByTripDateAndDriverUsername(@Param("date") LocalDate date, @Param("username") String username);
+    String TRIP_ORDER_ROWS = TRIP_ORDER_COLUMNS +
+            "FROM Trip t JOIN t.driver d LEFT JOIN t.orders o LEFT JOIN o.vendor v ";
 
     @Query("SELECT t FROM Trip t LEFT JOIN FETCH t.orders o LEFT JOIN FETCH o.vendor LEFT JOIN FETCH t.driver WHERE t.id = :id")
     Optional<Trip> findByIdWithOrdersAndVendorsAndDriver(@Param("id") Long id);
 
+    @Query(TRIP_ORDER_ROWS + "WHERE t.tripDate = :date ORDER BY t.id, o.id")
+    List<TripOrderRow> findRowsByTripDate(@Param("date") LocalDate date);
+
+    @Query(TRIP_ORDER_ROWS + "WHERE t.tripDate = :date AND d.username = :username ORDER BY t.id, o.id")
+    List<TripOrderRow> findRowsByTripDateAndDriverUsername(@Param("date") LocalDate date,
+                                                           @Param("username") String username);
+
+    /**
+     * The driver's trips on {@code date} that changed after {@code since}, each with only its orders that
+     * changed after {@code since}: a trip whose own row is unchanged appears only if some order changed.
+     */
+    @Query(TRIP_ORDER_COLUMNS + "FROM Trip t JOIN t.driver d LEFT JOIN t.orders o ON o.updatedAt > :since " +
+            "LEFT JOIN o.vendor v WHERE t.tripDate = :date AND d.username = :username " +
+            "AND (t.updatedAt > :since OR o.id IS NOT NULL) ORDER BY t.id, o.id")
+    List<TripOrderRow> findRowsChangedSince(@Param("date") LocalDate date, @Param("username") String username,
+                                            @Param("since") Instant since);
+
+    @Query(TRIP_ORDER_ROWS + "WHERE t.id = :id ORDER BY o.id")
+    List<TripOrderRow> findRowsById(@Param("id") Long id);
+
+    @Query(TRIP_ORDER_ROWS + "WHERE t.id IN :ids ORDER BY t.tripDate DESC, t.id DESC, o.id")
+    List<TripOrderRow> findRowsByIds(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT t.id FROM Trip t ORDER BY t.tripDate DESC, t.id DESC")
+    List<Long> findRecentIds(Pageable pageable);
+
     List<Trip> findByTripDate(LocalDate date);
 
     List<Trip> findByTripDateBetween(LocalDate startDate, LocalDate endDate);
 
+    /**
+     * Per-day trip count, completed trips, order count and assigned units, aggregated in the database.
+     * Days without trips are absent.
+     */
+    String DAILY_TRIP_SUMMARY = "SELECT new com.example.broiler.web.dto.DailyTripSummaryDto(t.tripDate, " +
+            "COUNT(DISTINCT t.id), COUNT(o.id), COALESCE(SUM(o.assignedUnits), 0), " +
+            "COUNT(DISTINCT CASE WHEN t.status = 'COMPLETED' THEN t.id END)) " +
+            "FROM Trip t LEFT JOIN t.orders o ";
+
+    @Query(DAILY_TRIP_SUMMARY + "WHERE t.tripDate BETWEEN :startDate AND :endDate " +
+            "GROUP BY t.tripDate ORDER BY t.tripDate")
+    List<DailyTripSummaryDto> summarizeByTripDateBetween(@Param("startDate") LocalDate startDate,
+                                                         @Param("endDate") LocalDate endDate);
+
+    @Query(DAILY_TRIP_SUMMARY + "WHERE t.tripDate IS NOT NULL GROUP BY t.tripDate ORDER BY t.tripDate")
+    List<DailyTripSummaryDto> summarizeAll();
+
     List<Trip> findByDriverUsernameOrderByTripDateDesc(String username);
 
-    @org.springframework.data.jpa.repository.EntityGraph(attributePaths = { "driver", "orders", "orders.vendor" })
-    List<Trip> findTop10ByOrderByTripDateDescIdDesc();
+    @Query("SELECT d.username FROM Trip t JOIN t.driver d WHERE t.id = :id")
+    Optional<String> findDriverUsernameById(@Param("id") Long id);
 }
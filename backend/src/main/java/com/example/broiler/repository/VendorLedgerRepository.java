@@ -1,9 +1,91 @@
 package com.example.broiler.repository;
 
 import com.example.broiler.domain.VendorLedger;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface VendorLedgerRepository extends JpaRepository<VendorLedger, Long> {
     List<VendorLedger> findByVendorIdOrderByDateDesc(Long vendorId);
+
+    /**
+     * The entry whose running balance a new entry dated {@code date} builds on:
+     * the last one (by date, then posting order) on or before that date.
+     */
+    Optional<VendorLedger> findFirstByVendorIdAndDateLessThanEqualOrderByDateDescSeqDesc(Long vendorId, LocalDate date);
+
+    /**
+     * Bulk form of {@link #findFirstByVendorIdAndDateLessThanEqualOrderByDateDescSeqDesc}: the latest entry
+     * on or before {@code date} for each of the given vendors, in one statement.
+     */
+    @Query("SELECT l FROM VendorLedger l WHERE l.vendor.id IN :vendorIds AND l.date <= :date " +
+            "AND NOT EXISTS (SELECT n.id FROM VendorLedger n WHERE n.vendor = l.vendor AND n.date <= :date " +
+            "AND (n.date > l.date OR (n.date = l.date AND n.seq > l.seq)))")
+    List<VendorLedger> findLatestOnOrBefore(@Param("vendorIds") Collection<Long> vendorIds, @Param("date") LocalDate date);
+
+    /**
+     * Highest posting sequence of a vendor's entries, or 0; read under the vendor's row lock.
+     */
+    @Query("SELECT COALESCE(MAX(l.seq), 0) FROM VendorLedger l WHERE l.vendor.id = :vendorId")
+    long findMaxSeq(@Param("vendorId") Long vendorId);
+
+    /**
+     * Bulk form of {@link #findMaxSeq}: [vendorId, max seq] for each of the given vendors that has entries.
+     */
+    @Query("SELECT l.vendor.id, MAX(l.seq) FROM VendorLedger l WHERE l.vendor.id IN :vendorIds GROUP BY l.vendor.id")
+    List<Object[]> findMaxSeqs(@Param("vendorIds") Collection<Long> vendorIds);
+
+    @Query("SELECT DISTINCT l.vendor.id FROM VendorLedger l WHERE l.vendor.id IN :vendorIds AND l.date > :date")
+    List<Long> findVendorIdsWithEntriesAfter(@Param("vendorIds") Collection<Long> vendorIds, @Param("date") LocalDate date);
+
+    /**
+     * A vendor's entries in a date range in posting order, e.g. for a monthly statement.
+     */
+    @Query("SELECT l FROM VendorLedger l WHERE l.vendor.id = :vendorId AND l.date BETWEEN :startDate AND :endDate " +
+            "ORDER BY l.date, l.seq")
+    List<VendorLedger> findForStatement(@Param("vendorId") Long vendorId,
+                                        @Param("startDate") LocalDate startDate,
+                                        @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT l FROM VendorLedger l WHERE l.vendor.id = :vendorId ORDER BY l.date DESC, l.seq DESC")
+    List<VendorLedger> findLatestPage(@Param("vendorId") Long vendorId, Pageable pageable);
+
+    /**
+     * Keyset page: entries strictly older than the (beforeDate, beforeSeq) cursor, newest first.
+     */
+    @Query("SELECT l FROM VendorLedger l WHERE l.vendor.id = :vendorId " +
+            "AND (l.date < :beforeDate OR (l.date = :beforeDate AND l.seq < :beforeSeq)) " +
+            "ORDER BY l.date DESC, l.seq DESC")
+    List<VendorLedger> findPageBefore(@Param("vendorId") Long vendorId,
+                                      @Param("beforeDate") LocalDate beforeDate,
+                                      @Param("beforeSeq") Long beforeSeq,
+                                      Pageable pageable);
+
+    @Query("SELECT COALESCE(SUM(l.debit), 0) AS totalDebit, COALESCE(SUM(l.credit), 0) AS totalCredit " +
+            "FROM VendorLedger l WHERE l.vendor.id = :vendorId")
+    LedgerTotals getTotals(@Param("vendorId") Long vendorId);
+
+    /**
+     * Shifts the running balance of every entry dated after {@code date}; used when a back-dated entry is appended.
+     */
+    @Modifying
+    @Query("UPDATE VendorLedger l SET l.balance = l.balance + :delta WHERE l.vendor.id = :vendorId AND l.date > :date")
+    int shiftBalancesAfter(@Param("vendorId") Long vendorId, @Param("date") LocalDate date, @Param("delta") BigDecimal delta);
+
+    @Modifying
+    @Query("DELETE FROM VendorLedger l WHERE l.vendor.id = :vendorId")
+    int deleteByVendorId(@Param("vendorId") Long vendorId);
+
+    interface LedgerTotals {
+        BigDecimal getTotalDebit();
+        BigDecimal getTotalCredit();
+    }
 }
@@ -2,9 +2,12 @@ package com.example.broiler.repository;
 
 import com.example.broiler.domain.VendorRateOffset;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface VendorRateOffsetRepository extends JpaRepository<VendorRateOffset, Long> {
@@ -17,4 +20,18 @@ public interface VendorRateOffsetRepository extends JpaRepository<VendorRateOffs
     Optional<VendorRateOffset> findTopByVendorIdAndEffectiveDateLessThanEqualOrderByEffectiveDateDesc(Long vendorId, LocalDate date);
     Optional<VendorRateOffset> findByVendorIdAndEffectiveDate(Long vendorId, LocalDate date);
 
-}
\ No newline at end of file
+    /**
+     * (id, vendorId, effectiveDate) of the entries on any of the given dates, for upserting a batch of offsets.
+     */
+    @Query("SELECT o.id, o.vendor.id, o.effectiveDate FROM VendorRateOffset o " +
+            "WHERE o.vendor.id IN :vendorIds AND o.effectiveDate IN :dates")
+    List<Object[]> findIdsByVendorIdInAndEffectiveDateIn(@Param("vendorIds") Collection<Long> vendorIds,
+                                                         @Param("dates") Collection<LocalDate> dates);
+
+    /**
+     * Every offset with its vendor id, for loading VendorOffsetIndex in one statement.
+     */
+    @Query("SELECT o FROM VendorRateOffset o JOIN FETCH o.vendor ORDER BY o.vendor.id, o.effectiveDate")
+    List<VendorRateOffset> findAllForIndex();
+
+}
@@ -1,7 +1,76 @@
 package com.example.broiler.repository;
 
 import com.example.broiler.domain.Vendor;
+import com.example.broiler.web.dto.NamedRefDto;
+import com.example.broiler.web.dto.VendorFinancialSummaryDto;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 public interface VendorRepository extends JpaRepository<Vendor, Long> {
+
+    @Query("SELECT v.id FROM Vendor v")
+    List<Long> findAllIds();
+
+    @Query("SELECT new com.example.broiler.web.dto.NamedRefDto(v.id, v.name) FROM Vendor v ORDER BY v.id")
+    List<NamedRefDto> findAllRefs();
+
+    /**
+     * Vendors whose ledger projection does not have one row per summary and payment, e.g. because their
+     * history was recorded before the projection existed, or that still have rows without a posting sequence.
+     */
+    @Query("SELECT v.id FROM Vendor v WHERE (SELECT COUNT(l) FROM VendorLedger l WHERE l.vendor = v) <> " +
+            "(SELECT COUNT(ds) FROM DailySummary ds WHERE ds.vendor = v) + " +
+            "(SELECT COUNT(p) FROM VendorPayment p WHERE p.vendor = v) " +
+            "OR EXISTS (SELECT l.id FROM VendorLedger l WHERE l.vendor = v AND l.seq = 0) ORDER BY v.id")
+    List<Long> findIdsWithIncompleteLedger();
+
+    /**
+     * Row-locks the vendor for the rest of the transaction so ledger appends for the same vendor are serialized.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT v FROM Vendor v WHERE v.id = :id")
+    Optional<Vendor> findByIdForUpdate(@Param("id") Long id);
+
+    /**
+     * Locks several vendors at once, always in id order so concurrent bulk writers cannot deadlock.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT v FROM Vendor v WHERE v.id IN :ids ORDER BY v.id")
+    List<Vendor> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Atomically moves the cached balance by {@code delta}; safe against concurrent writers without a read first.
+     */
+    @Modifying
+    @Query("UPDATE Vendor v SET v.currentBalance = COALESCE(v.currentBalance, 0) + :delta WHERE v.id = :id")
+    int adjustCurrentBalance(@Param("id") Long id, @Param("delta") BigDecimal delta);
+
+    @Modifying
+    @Query("UPDATE Vendor v SET v.currentBalance = :balance WHERE v.id = :id")
+    int setCurrentBalance(@Param("id") Long id, @Param("balance") BigDecimal balance);
+
+    /**
+     * Starts the cached balance of vendors that have never had one (created before it was maintained, or
+     * not yet billed) at their latest ledger balance, or zero.
+     */
+    @Modifying
+    @Query("UPDATE Vendor v SET v.currentBalance = COALESCE((SELECT l.balance FROM VendorLedger l " +
+            "WHERE l.vendor = v AND NOT EXISTS (SELECT n.id FROM VendorLedger n WHERE n.vendor = v " +
+            "AND (n.date > l.date OR (n.date = l.date AND n.seq > l.seq)))), 0) WHERE v.currentBalance IS NULL")
+    int initializeMissingCurrentBalances();
+
+    @Query("SELECT new com.example.broiler.web.dto.VendorFinancialSummaryDto(v.id, v.name, " +
+            "(SELECT SUM(ds.calculatedAmount) FROM DailySummary ds WHERE ds.vendor = v), " +
+            "(SELECT SUM(p.amount) FROM VendorPayment p WHERE p.vendor = v)) " +
+            "FROM Vendor v ORDER BY v.id")
+    List<VendorFinancialSummaryDto> getFinancialSummaries();
 }
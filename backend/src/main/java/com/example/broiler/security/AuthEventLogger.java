@@ -0,0 +1,109 @@
+package com.example.broiler.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Single place where authentication outcomes are recorded. Every outcome increments an {@code auth.tokens} or
+ * {@code auth.logins} counter tagged with its result; only failures are logged, as key=value lines carrying a
+ * token fingerprint (never the token), and at most one line per result per interval with a count of the rest.
+ */
+@Component
+public class AuthEventLogger {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuthEventLogger.class);
+
+    // Hex characters of the token's SHA-256 shown in logs: enough to correlate, useless as a credential
+    private static final int FINGERPRINT_LENGTH = 12;
+
+    private final MeterRegistry meterRegistry;
+    private final long warnIntervalNanos;
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private final Map<String, WarnWindow> warnWindows = new ConcurrentHashMap<>();
+
+    public AuthEventLogger(MeterRegistry meterRegistry,
+                           @Value("${app.security.auth-log.warn-interval:10s}") Duration warnInterval) {
+        this.meterRegistry = meterRegistry;
+        this.warnIntervalNanos = warnInterval.toNanos();
+    }
+
+    public void tokenAccepted(boolean cached) {
+        counter("auth.tokens", cached ? "valid_cached" : "valid").increment();
+    }
+
+    /**
+     * A bearer token was rejected; {@code result} is a short code such as {@code expired} or {@code bad_signature}.
+     */
+    public void tokenRejected(String result, String tokenHash, String path, String detail) {
+        counter("auth.tokens", result).increment();
+        warn("token_rejected", result, () -> String.format("result=%s fp=%s path=%s detail=\"%s\"",
+                result, fingerprint(tokenHash), path, detail));
+    }
+
+    public void loginSucceeded(String username, String role) {
+        counter("auth.logins", "success").increment();
+        logger.debug("auth_event=login_succeeded user={} role={}", username, role);
+    }
+
+    public void loginFailed(String username) {
+        counter("auth.logins", "failure").increment();
+        warn("login_failed", "failure", () -> "user=" + username);
+    }
+
+    public static String fingerprint(String tokenHash) {
+        return tokenHash.length() > FINGERPRINT_LENGTH ? tokenHash.substring(0, FINGERPRINT_LENGTH) : tokenHash;
+    }
+
+    public static String resultOf(Enum<?> failure) {
+        return failure.name().toLowerCase(Locale.ROOT);
+    }
+
+    private Counter counter(String name, String result) {
+        return counters.computeIfAbsent(name + ':' + result,
+                key -> Counter.builder(name).tag("result", result).register(meterRegistry));
+    }
+
+    /**
+     * Logs the first event of each kind per interval; later ones in the same interval are only counted and
+     * reported with the next line that gets through. The message is built only when it will be written.
+     */
+    private void warn(String event, String result, Supplier<String> message) {
+        if (!logger.isWarnEnabled()) {
+            return;
+        }
+        long now = System.nanoTime();
+        WarnWindow window = warnWindows.computeIfAbsent(event + ':' + result, key -> new WarnWindow(now - warnIntervalNanos));
+        long start = window.start.get();
+        if (now - start < warnIntervalNanos) {
+            window.suppressed.incrementAndGet();
+            return;
+        }
+        if (!window.start.compareAndSet(start, now)) {
+            window.suppressed.incrementAndGet();
+            return;
+        }
+        int suppressed = window.suppressed.getAndSet(0);
+        logger.warn("auth_event={} {} suppressed={}", event, message.get(), suppressed);
+    }
+
+    private static final class WarnWindow {
+        private final AtomicLong start;
+        private final AtomicInteger suppressed = new AtomicInteger();
+
+        private WarnWindow(long start) {
+            this.start = new AtomicLong(start);
+        }
+    }
+}
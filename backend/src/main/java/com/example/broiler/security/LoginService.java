@@ -0,0 +1,107 @@
+package com.example.broiler.security;
+
+import com.example.broiler.repository.AdminRepository;
+import com.example.broiler.security.jwt.JwtUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Checks login credentials with one principal lookup and exactly one bcrypt comparison, whether or not the
+ * username exists, so response time does not reveal which usernames are real. The comparisons run on a small
+ * fixed pool with a bounded queue: a login burst queues there (and is refused once the queue is full) instead
+ * of occupying every request thread with bcrypt.
+ */
+@Service
+public class LoginService {
+
+    private final AdminRepository adminRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final JwtUtils jwtUtils;
+    private final AuthEventLogger authEvents;
+    private final ExecutorService bcryptExecutor;
+
+    // Compared against when the username is unknown, so that path costs the same bcrypt round as a real one
+    private final String dummyPasswordHash;
+
+    public LoginService(AdminRepository adminRepository,
+                        PasswordEncoder passwordEncoder,
+                        JwtUtils jwtUtils,
+                        AuthEventLogger authEvents,
+                        MeterRegistry meterRegistry,
+                        @Value("${app.security.login.bcrypt-threads:0}") int bcryptThreads,
+                        @Value("${app.security.login.queue-capacity:200}") int queueCapacity) {
+        this.adminRepository = adminRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.jwtUtils = jwtUtils;
+        this.authEvents = authEvents;
+        this.dummyPasswordHash = passwordEncoder.encode("login-timing-placeholder");
+
+        // bcrypt is pure CPU, so more threads than cores only adds contention
+        int threads = bcryptThreads > 0 ? bcryptThreads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "bcrypt-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.bcryptExecutor = ExecutorServiceMetrics.monitor(meterRegistry, executor, "auth.bcrypt");
+    }
+
+    /**
+     * A token for the admin or driver with these credentials, or empty if they do not match.
+     */
+    public Optional<String> login(String username, String password) {
+        Optional<AdminRepository.LoginPrincipal> principal = adminRepository.findLoginPrincipal(username);
+        String passwordHash = principal.map(AdminRepository.LoginPrincipal::getPassword).orElse(dummyPasswordHash);
+
+        boolean matches = verify(password, passwordHash);
+        if (principal.isEmpty() || !matches) {
+            authEvents.loginFailed(username);
+            return Optional.empty();
+        }
+
+        AdminRepository.LoginPrincipal user = principal.get();
+        authEvents.loginSucceeded(user.getUsername(), user.getRole());
+        return Optional.of(jwtUtils.generateJwtToken(user.getUsername(), user.getRole()));
+    }
+
+    private boolean verify(String password, String passwordHash) {
+        Future<Boolean> result;
+        try {
+            result = bcryptExecutor.submit(() -> passwordEncoder.matches(password, passwordHash));
+        } catch (RejectedExecutionException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many login attempts, retry shortly");
+        }
+        try {
+            return result.get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Password verification failed", e.getCause());
+        } catch (InterruptedException e) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Login interrupted");
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        bcryptExecutor.shutdown();
+    }
+}
@@ -1,20 +1,62 @@
 package com.example.broiler.security;
 
-import com.example.broiler.domain.Trip;
 import com.example.broiler.repository.TripRepository;
-import lombok.RequiredArgsConstructor;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.Duration;
+
+/**
+ * Trip ownership checks for {@code @PreAuthorize}. The driver's username is cached per trip for a short time,
+ * so repeated calls from a driver's device cost no query; reassigning a trip evicts its entry. Unknown trips
+ * are not cached. Cache statistics are published as {@code cache.*} metrics tagged {@code auth.trip-owners}.
+ */
 @Service("tripSecurity")
-@RequiredArgsConstructor
 public class TripSecurityService {
 
     private final TripRepository tripRepository;
+    private final Cache<Long, String> tripOwners;
+
+    public TripSecurityService(TripRepository tripRepository,
+                               @Value("${app.security.trip-owner-cache.max-trips:10000}") long maxTrips,
+                               @Value("${app.security.trip-owner-cache.ttl:60s}") Duration ttl,
+                               MeterRegistry meterRegistry) {
+        this.tripRepository = tripRepository;
+        this.tripOwners = Caffeine.newBuilder()
+                .maximumSize(maxTrips)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, tripOwners, "auth.trip-owners");
+    }
 
     public boolean isDriverForTrip(String username, Long tripId) {
-        return tripRepository.findById(tripId)
-                .map(Trip::getDriver)
-                .map(driver -> driver.getUsername().equals(username))
-                .orElse(false);
+        if (username == null || tripId == null) {
+            return false;
+        }
+        String owner = tripOwners.get(tripId, id -> tripRepository.findDriverUsernameById(id).orElse(null));
+        return username.equals(owner);
+    }
+
+    /**
+     * Forgets the cached driver of {@code tripId}, now and again once the surrounding transaction completes,
+     * so a check that reads the old driver before the commit is visible cannot leave it cached.
+     */
+    public void evictTripOwner(Long tripId) {
+        tripOwners.invalidate(tripId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    tripOwners.invalidate(tripId);
+                }
+            });
+        }
     }
 }
@@ -1,33 +1,73 @@
 package com.example.broiler.security.jwt;
 
+import com.example.broiler.security.AuthEventLogger;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.stream.Collectors;
 
+/**
+ * Authenticates requests carrying a Bearer JWT. Tokens that verify are remembered by their SHA-256 hash
+ * until they expire, so a client polling with the same token is parsed and signature-checked only once.
+ * Rejected tokens are never cached. Outcomes go to {@link AuthEventLogger}; nothing is logged per request.
+ */
 @Component
 public class AuthFilter extends OncePerRequestFilter {
 
-    private static final Logger logger = LoggerFactory.getLogger(AuthFilter.class);
-
     private final JwtUtils jwtUtils;
+    private final AuthEventLogger authEvents;
+    private final Cache<String, VerifiedToken> verifiedTokens;
 
-    public AuthFilter(JwtUtils jwtUtils) {
+    public AuthFilter(JwtUtils jwtUtils,
+                      AuthEventLogger authEvents,
+                      @Value("${app.security.token-cache-size:10000}") long tokenCacheSize,
+                      MeterRegistry meterRegistry) {
         this.jwtUtils = jwtUtils;
+        this.authEvents = authEvents;
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(tokenCacheSize)
+                .expireAfter(new Expiry<String, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(String key, VerifiedToken token, long currentTime) {
+                        return token.nanosUntilExpiry();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, VerifiedToken token, long currentTime, long currentDuration) {
+                        return token.nanosUntilExpiry();
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, VerifiedToken token, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "auth.verified-tokens");
     }
 
     @Override
@@ -37,38 +77,71 @@ public class AuthFilter extends OncePerRequestFilter {
         String header = request.getHeader(HttpHeaders.AUTHORIZATION);
         if (header != null && header.startsWith("Bearer ")) {
             String token = header.substring(7);
-            logger.debug("Processing JWT: {}", token);
-
-            if (jwtUtils.validateJwtToken(token)) {
-                Claims claims = jwtUtils.getClaimsFromJwtToken(token);
-                String username = claims.getSubject();
-                
-                @SuppressWarnings("unchecked")
-                List<String> roles = claims.get("roles", List.class);
-
-                logger.debug("JWT validated. Username: {}, Roles from JWT: {}", username, roles);
-
-                if (username != null && roles != null && !roles.isEmpty()) {
-                    List<SimpleGrantedAuthority> authorities = roles.stream()
-                            .map(role -> {
-                                String prefixedRole = role.startsWith("ROLE_") ? role : "ROLE_" + role;
-                                logger.debug("Mapping role '{}' to authority '{}'", role, prefixedRole);
-                                return new SimpleGrantedAuthority(prefixedRole);
-                            })
-                            .collect(Collectors.toList());
-
-                    Authentication auth = new UsernamePasswordAuthenticationToken(username, null, authorities);
-                    SecurityContextHolder.getContext().setAuthentication(auth);
-                    logger.debug("Authentication set for user '{}' with authorities: {}", username, authorities);
-                } else {
-                    logger.warn("Username or roles missing/empty in JWT for token: {}", token);
-                }
+            String tokenHash = hash(token);
+            VerifiedToken verified = verifiedTokens.getIfPresent(tokenHash);
+            if (verified != null) {
+                authEvents.tokenAccepted(true);
             } else {
-                logger.warn("Invalid JWT token: {}", token);
+                verified = verify(token, tokenHash, request.getRequestURI());
+                if (verified != null) {
+                    verifiedTokens.put(tokenHash, verified);
+                }
+            }
+
+            if (verified != null) {
+                SecurityContextHolder.getContext().setAuthentication(
+                        new UsernamePasswordAuthenticationToken(verified.username(), null, verified.authorities()));
             }
-        } else {
-            logger.debug("No Bearer token found in Authorization header for request: {}", request.getRequestURI());
         }
         filterChain.doFilter(request, response);
     }
+
+    /**
+     * Parses and verifies the token once; null when it is invalid or carries no username or roles.
+     */
+    private VerifiedToken verify(String token, String tokenHash, String path) {
+        JwtUtils.JwtValidation validation = jwtUtils.validate(token);
+        if (!validation.isValid()) {
+            authEvents.tokenRejected(AuthEventLogger.resultOf(validation.failure()), tokenHash, path, validation.detail());
+            return null;
+        }
+
+        Claims claims = validation.claims();
+        String username = claims.getSubject();
+
+        @SuppressWarnings("unchecked")
+        List<String> roles = claims.get("roles", List.class);
+
+        if (username == null || roles == null || roles.isEmpty()) {
+            authEvents.tokenRejected("missing_claims", tokenHash, path, "username or roles missing");
+            return null;
+        }
+
+        List<SimpleGrantedAuthority> authorities = roles.stream()
+                .map(role -> new SimpleGrantedAuthority(role.startsWith("ROLE_") ? role : "ROLE_" + role))
+                .collect(Collectors.toUnmodifiableList());
+        Instant expiresAt = claims.getExpiration() != null ? claims.getExpiration().toInstant() : Instant.MAX;
+        authEvents.tokenAccepted(false);
+        return new VerifiedToken(username, authorities, expiresAt);
+    }
+
+    // Keyed by hash so the cache never holds usable bearer tokens
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private record VerifiedToken(String username, List<SimpleGrantedAuthority> authorities, Instant expiresAt) {
+
+        long nanosUntilExpiry() {
+            if (expiresAt.equals(Instant.MAX)) {
+                return Long.MAX_VALUE;
+            }
+            return Math.max(0, Duration.between(Instant.now(), expiresAt).toNanos());
+        }
+    }
 }
@@ -3,8 +3,6 @@ package com.example.broiler.security.jwt;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.security.SignatureException;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import java.util.Date;
@@ -14,64 +12,67 @@ import javax.crypto.SecretKey;
 @Component
 public class JwtUtils {
 
-    private static final Logger logger = LoggerFactory.getLogger(JwtUtils.class);
-
-    @Value("${app.security.jwtSecret}")
-    private String jwtSecret;
-
     // Use a very long expiration for development: 10 years in milliseconds
     private final long jwtExpirationMs = 10L * 365 * 24 * 60 * 60 * 1000;
 
-    private SecretKey key() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes());
+    // Built once: both are immutable and safe to share across request threads
+    private final SecretKey key;
+    private final JwtParser parser;
+
+    public JwtUtils(@Value("${app.security.jwtSecret}") String jwtSecret) {
+        this.key = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        this.parser = Jwts.parserBuilder().setSigningKey(key).build();
     }
 
     public String generateJwtToken(String username, String role) {
         Date now = new Date();
         Date expiry = new Date(now.getTime() + jwtExpirationMs);
-        String token = Jwts.builder()
+        return Jwts.builder()
                 .setSubject(username)
                 .claim("roles", List.of(role))
                 .setIssuedAt(now)
                 .setExpiration(expiry)
-                .signWith(key())
+                .signWith(key)
                 .compact();
-        
-        logger.info("============================================================");
-        logger.info("            Generated Development JWT");
-        logger.info("            Username: {}", username);
-        logger.info("            Role: {}", role);
-        logger.info("            Token: {}", token);
-        logger.info("============================================================");
-
-        return token;
     }
 
-    public String getUserNameFromJwtToken(String token) {
-        return Jwts.parserBuilder().setSigningKey(key()).build()
-                .parseClaimsJws(token).getBody().getSubject();
-    }
-
-    public Claims getClaimsFromJwtToken(String token) {
-        return Jwts.parserBuilder().setSigningKey(key()).build()
-                .parseClaimsJws(token).getBody();
-    }
-
-    public boolean validateJwtToken(String authToken) {
+    /**
+     * Verifies the signature and expiry of {@code token} with a single parse and returns its claims,
+     * or the reason it was rejected.
+     */
+    public JwtValidation validate(String token) {
         try {
-            Jwts.parserBuilder().setSigningKey(key()).build().parse(authToken);
-            return true;
+            return JwtValidation.valid(parser.parseClaimsJws(token).getBody());
         } catch (SignatureException e) {
-            logger.error("Invalid JWT signature: {}", e.getMessage());
+            return JwtValidation.invalid(JwtFailure.BAD_SIGNATURE, e.getMessage());
         } catch (MalformedJwtException e) {
-            logger.error("Invalid JWT token: {}", e.getMessage());
+            return JwtValidation.invalid(JwtFailure.MALFORMED, e.getMessage());
         } catch (ExpiredJwtException e) {
-            logger.error("JWT token is expired: {}", e.getMessage());
+            return JwtValidation.invalid(JwtFailure.EXPIRED, e.getMessage());
         } catch (UnsupportedJwtException e) {
-            logger.error("JWT token is unsupported: {}", e.getMessage());
+            return JwtValidation.invalid(JwtFailure.UNSUPPORTED, e.getMessage());
         } catch (IllegalArgumentException e) {
-            logger.error("JWT claims string is empty: {}", e.getMessage());
+            return JwtValidation.invalid(JwtFailure.EMPTY, e.getMessage());
+        }
+    }
+
+    public enum JwtFailure { BAD_SIGNATURE, MALFORMED, EXPIRED, UNSUPPORTED, EMPTY }
+
+    /**
+     * Outcome of {@link #validate}: the claims of a valid token, or why it was rejected.
+     */
+    public record JwtValidation(Claims claims, JwtFailure failure, String detail) {
+
+        static JwtValidation valid(Claims claims) {
+            return new JwtValidation(claims, null, null);
+        }
+
+        static JwtValidation invalid(JwtFailure failure, String detail) {
+            return new JwtValidation(null, failure, detail);
+        }
+
+        public boolean isValid() {
+            return claims != null;
         }
-        return false;
     }
 }
@@ -0,0 +1,77 @@
+package com.example.broiler.service;
+
+import com.example.broiler.domain.Vendor;
+import com.example.broiler.repository.VendorRepository;
+import com.example.broiler.web.dto.BalanceDriftDto;
+import com.example.broiler.web.dto.VendorFinancialSummaryDto;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Periodically re-derives every vendor's balance from its summaries and payments and reports
+ * where the cached {@link Vendor#getCurrentBalance()} has drifted from it.
+ */
+@Service
+@RequiredArgsConstructor
+public class BalanceVerificationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BalanceVerificationService.class);
+
+    private final VendorRepository vendorRepository;
+
+    private volatile List<BalanceDriftDto> lastReport = List.of();
+
+    @Scheduled(fixedDelayString = "${app.ledger.balance-verify-interval-ms:3600000}",
+            initialDelayString = "${app.ledger.balance-verify-initial-delay-ms:60000}")
+    public void scheduledVerify() {
+        verifyBalances();
+    }
+
+    // Repeatable read so the cached and derived figures come from the same snapshot
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public List<BalanceDriftDto> verifyBalances() {
+        Map<Long, VendorFinancialSummaryDto> derived = vendorRepository.getFinancialSummaries().stream()
+                .collect(Collectors.toMap(VendorFinancialSummaryDto::getVendorId, Function.identity()));
+
+        List<BalanceDriftDto> drifts = new ArrayList<>();
+        for (Vendor vendor : vendorRepository.findAll()) {
+            BigDecimal cachedBalance = vendor.getCurrentBalance() != null ? vendor.getCurrentBalance() : BigDecimal.ZERO;
+            VendorFinancialSummaryDto summary = derived.get(vendor.getId());
+            BigDecimal derivedBalance = summary != null ? summary.getOutstandingBalance() : BigDecimal.ZERO;
+
+            if (cachedBalance.compareTo(derivedBalance) != 0) {
+                drifts.add(BalanceDriftDto.builder()
+                        .vendorId(vendor.getId())
+                        .vendorName(vendor.getName())
+                        .cachedBalance(cachedBalance)
+                        .derivedBalance(derivedBalance)
+                        .drift(cachedBalance.subtract(derivedBalance))
+                        .build());
+            }
+        }
+
+        if (drifts.isEmpty()) {
+            logger.debug("Balance verification passed for all vendors.");
+        } else {
+            logger.warn("Balance drift detected for {} vendor(s): {}", drifts.size(), drifts);
+        }
+        lastReport = List.copyOf(drifts);
+        return lastReport;
+    }
+
+    public List<BalanceDriftDto> getLastReport() {
+        return lastReport;
+    }
+}
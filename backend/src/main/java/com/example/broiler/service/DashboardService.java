@@ -2,7 +2,6 @@ package com.example.broiler.service;
 
 import com.example.broiler.domain.OrderStatus;
 import com.example.broiler.repository.OrderRepository;
-import com.example.broiler.repository.TripRepository;
 import com.example.broiler.web.dto.DashboardSummary;
 import com.example.broiler.web.dto.DailyTripSummaryDto;
 import lombok.RequiredArgsConstructor;
@@ -17,14 +16,12 @@ import java.util.List;
 @RequiredArgsConstructor
 public class DashboardService {
 
-    private final TripRepository tripRepository;
     private final OrderRepository orderRepository;
     private final ReportService reportService; // Inject ReportService
 
     @Transactional(readOnly = true)
     public DashboardSummary getDashboardSummary(LocalDate date) {
-        long totalTripsToday = tripRepository.findByTripDate(date).size();
-        long totalPendingOrders = orderRepository.findByStatus(OrderStatus.PENDING).size();
+        long totalPendingOrders = orderRepository.countByStatus(OrderStatus.PENDING);
         
         // Placeholder for total revenue today - needs more complex calculation
         BigDecimal totalRevenueToday = BigDecimal.ZERO; 
@@ -32,6 +29,7 @@ public class DashboardService {
         // Fetch trip history for the chart
         LocalDate sevenDaysAgo = date.minusDays(7);
         List<DailyTripSummaryDto> tripHistory = reportService.getDailyTripSummaries(sevenDaysAgo, date);
+        long totalTripsToday = tripHistory.get(tripHistory.size() - 1).getTotalTrips(); // History ends on date
 
         return new DashboardSummary(date, totalTripsToday, totalPendingOrders, totalRevenueToday, tripHistory);
     }
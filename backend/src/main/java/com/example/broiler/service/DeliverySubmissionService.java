@@ -0,0 +1,189 @@
+package com.example.broiler.service;
+
+import com.example.broiler.domain.Order;
+import com.example.broiler.domain.Trip;
+import com.example.broiler.repository.DeliverySubmissionRepository;
+import com.example.broiler.repository.OrderRepository;
+import com.example.broiler.security.TripSecurityService;
+import com.example.broiler.web.dto.DeliveryBatchRequest;
+import com.example.broiler.web.dto.DeliveryBatchResultDto;
+import com.example.broiler.web.dto.OrderDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Applies a batch of delivery entries recorded offline, in one transaction: one query loads every referenced
+ * order, one batched insert claims the idempotency keys, and each affected trip's stock weight is recomputed
+ * once. A key that was already claimed, by an earlier submission or a concurrent one, is reported as a
+ * duplicate and not applied again. Drivers may only submit orders on their own trips.
+ */
+@Service
+public class DeliverySubmissionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DeliverySubmissionService.class);
+
+    private final OrderRepository orderRepository;
+    private final DeliverySubmissionRepository deliverySubmissionRepository;
+    private final LiveUpdateService liveUpdateService;
+    private final TripSecurityService tripSecurityService;
+    private final JdbcTemplate jdbcTemplate;
+    private final int maxBatchSize;
+    private final Duration keyRetention;
+
+    public DeliverySubmissionService(OrderRepository orderRepository,
+                                     DeliverySubmissionRepository deliverySubmissionRepository,
+                                     LiveUpdateService liveUpdateService,
+                                     TripSecurityService tripSecurityService,
+                                     JdbcTemplate jdbcTemplate,
+                                     @Value("${app.dispatch.deliveries.max-batch-size:500}") int maxBatchSize,
+                                     @Value("${app.dispatch.deliveries.key-retention:7d}") Duration keyRetention) {
+        this.orderRepository = orderRepository;
+        this.deliverySubmissionRepository = deliverySubmissionRepository;
+        this.liveUpdateService = liveUpdateService;
+        this.tripSecurityService = tripSecurityService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxBatchSize = maxBatchSize;
+        this.keyRetention = keyRetention;
+    }
+
+    /**
+     * {@code admin} callers may submit any order; anyone else only orders on trips they drive.
+     */
+    @Transactional
+    public DeliveryBatchResultDto submit(String username, boolean admin, List<DeliveryBatchRequest.Entry> entries) {
+        if (entries.size() > maxBatchSize) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "At most " + maxBatchSize + " deliveries can be submitted at once.");
+        }
+
+        Map<Long, Order> orders = orderRepository.findAllByIdWithVendorAndTrip(
+                        entries.stream().map(DeliveryBatchRequest.Entry::getOrderId).collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(Order::getId, Function.identity()));
+
+        String[] statuses = new String[entries.size()];
+        List<Integer> toClaim = new ArrayList<>();
+        Set<String> keys = new HashSet<>();
+        for (int i = 0; i < entries.size(); i++) {
+            DeliveryBatchRequest.Entry entry = entries.get(i);
+            Order order = orders.get(entry.getOrderId());
+            if (!keys.add(entry.getIdempotencyKey())) {
+                statuses[i] = "DUPLICATE";
+            } else if (!admin && (order == null || order.getTrip() == null
+                    || !tripSecurityService.isDriverForTrip(username, order.getTrip().getId()))) {
+                // A missing order looks the same as someone else's, so drivers cannot probe which ids exist
+                statuses[i] = "FORBIDDEN";
+            } else if (order == null) {
+                statuses[i] = "NOT_FOUND";
+            } else {
+                toClaim.add(i);
+            }
+        }
+
+        // A concurrent submission of the same key waits on the unique index and then finds it taken. Keys are
+        // claimed in key order so two batches with overlapping keys cannot lock them in opposite orders.
+        List<Integer> claimOrder = toClaim.stream()
+                .sorted(Comparator.comparing(i -> entries.get(i).getIdempotencyKey()))
+                .collect(Collectors.toList());
+        Timestamp now = Timestamp.from(Instant.now());
+        int[] counts = jdbcTemplate.batchUpdate("INSERT INTO delivery_submission (id, submitted_by, idempotency_key, " +
+                        "order_id, submitted_at) VALUES (nextval('delivery_submission_seq'), ?, ?, ?, ?) ON CONFLICT DO NOTHING",
+                claimOrder.stream()
+                        .map(i -> new Object[]{username, entries.get(i).getIdempotencyKey(), entries.get(i).getOrderId(), now})
+                        .collect(Collectors.toList()));
+        Set<Integer> claimed = new HashSet<>();
+        for (int c = 0; c < claimOrder.size(); c++) {
+            if (counts[c] != 0) {
+                claimed.add(claimOrder.get(c));
+            }
+        }
+
+        // Applied in request order, so several entries for one order land in the order the device recorded them
+        Map<Long, Trip> affectedTrips = new LinkedHashMap<>();
+        for (int i : toClaim) {
+            if (!claimed.contains(i)) {
+                statuses[i] = "DUPLICATE";
+                continue;
+            }
+            Order order = orders.get(entries.get(i).getOrderId());
+            boolean delivered = DispatchService.applyOrderDetails(order, entries.get(i).getDetails());
+            liveUpdateService.orderUpdated(order, delivered);
+            if (order.getTrip() != null) {
+                affectedTrips.put(order.getTrip().getId(), order.getTrip());
+            }
+            statuses[i] = "APPLIED";
+        }
+
+        for (Trip trip : affectedTrips.values()) {
+            if (trip.getLoadedWeight() != null) {
+                BigDecimal totalDeliveredWeight = trip.getOrders().stream()
+                        .map(Order::getWeight)
+                        .filter(Objects::nonNull)
+                        .reduce(BigDecimal.ZERO, BigDecimal::add);
+                trip.setStockWeight(trip.getLoadedWeight().subtract(totalDeliveredWeight));
+                liveUpdateService.tripChanged(LiveUpdateService.TRIP_UPDATED, trip, null);
+            }
+        }
+
+        List<DeliveryBatchResultDto.EntryResult> results = new ArrayList<>(entries.size());
+        int applied = 0;
+        int duplicates = 0;
+        for (int i = 0; i < entries.size(); i++) {
+            DeliveryBatchRequest.Entry entry = entries.get(i);
+            Order order = orders.get(entry.getOrderId());
+            switch (statuses[i]) {
+                case "APPLIED" -> applied++;
+                case "DUPLICATE" -> duplicates++;
+                default -> { }
+            }
+            results.add(DeliveryBatchResultDto.EntryResult.builder()
+                    .idempotencyKey(entry.getIdempotencyKey())
+                    .orderId(entry.getOrderId())
+                    .status(statuses[i])
+                    .order(order != null && !"FORBIDDEN".equals(statuses[i]) ? OrderDto.from(order) : null)
+                    .build());
+        }
+
+        return DeliveryBatchResultDto.builder()
+                .applied(applied)
+                .duplicates(duplicates)
+                .failed(entries.size() - applied - duplicates)
+                .results(results)
+                .build();
+    }
+
+    /**
+     * Keys only need to outlive the longest a device may keep retrying a submission.
+     */
+    @Scheduled(fixedDelayString = "${app.dispatch.deliveries.key-purge-interval-ms:3600000}",
+            initialDelayString = "${app.dispatch.deliveries.key-purge-interval-ms:3600000}")
+    @Transactional
+    public void purgeKeys() {
+        int purged = deliverySubmissionRepository.deleteSubmittedBefore(Instant.now().minus(keyRetention));
+        if (purged > 0) {
+            logger.info("Purged {} delivery idempotency keys", purged);
+        }
+    }
+}
@@ -7,33 +7,90 @@ import com.example.broiler.domain.Vendor;
 import com.example.broiler.repository.OrderRepository;
 import com.example.broiler.repository.TripRepository;
 import com.example.broiler.repository.VendorRepository;
+import com.example.broiler.web.dto.AssignOrdersResultDto;
 import com.example.broiler.web.dto.CreateOrderRequest;
 import com.example.broiler.web.dto.DispatchDto;
+import com.example.broiler.web.dto.OrderDto;
+import com.example.broiler.web.dto.PendingOrdersPageDto;
+import com.example.broiler.web.dto.TripDto;
 import com.example.broiler.web.dto.UpdateOrderDetailsRequest;
 import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.sql.Timestamp;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class DispatchService {
 
+    private static final Logger logger = LoggerFactory.getLogger(DispatchService.class);
+
     private final OrderRepository orderRepository;
     private final TripRepository tripRepository;
     private final VendorRepository vendorRepository;
+    private final TripStatsService tripStatsService;
+    private final LiveUpdateService liveUpdateService;
+    private final TripSyncService tripSyncService;
+    private final JdbcTemplate jdbcTemplate;
+
+    public static final int DEFAULT_PENDING_PAGE_SIZE = 200;
+    public static final int MAX_PENDING_PAGE_SIZE = 1000;
+
+    // Lower bound for "no start date": pending orders carried over from any earlier day stay on the board
+    private static final LocalDate EARLIEST_ORDER_DATE = LocalDate.EPOCH;
 
     @Transactional(readOnly = true)
     public DispatchDto getDispatchData(LocalDate date) {
-        List<Order> pendingOrders = orderRepository.findByStatus(OrderStatus.PENDING);
-        List<Trip> trips = tripRepository.findByTripDateWithOrdersAndVendors(date);
-        return new DispatchDto(pendingOrders, trips);
+        PendingOrdersPageDto pending = getPendingOrders(null, date, null, null, DEFAULT_PENDING_PAGE_SIZE);
+        List<TripDto> trips = TripDto.fromRows(tripRepository.findRowsByTripDate(date));
+        return new DispatchDto(pending.getOrders(), trips, pending.getTotalCount(), pending.getNextAfterDate(),
+                pending.getNextAfterId());
+    }
+
+    /**
+     * One keyset page of the pending-order queue, oldest first. Pass the nextAfterDate/nextAfterId of the
+     * previous page to continue.
+     */
+    @Transactional(readOnly = true)
+    public PendingOrdersPageDto getPendingOrders(LocalDate startDate, LocalDate endDate, LocalDate afterDate,
+                                                 Long afterId, Integer limit) {
+        LocalDate from = startDate != null ? startDate : EARLIEST_ORDER_DATE;
+        LocalDate to = endDate != null ? endDate : LocalDate.now();
+        int pageSize = limit == null ? DEFAULT_PENDING_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PENDING_PAGE_SIZE));
+        // Fetch one extra row to learn whether another page exists without a second query
+        Pageable page = PageRequest.of(0, pageSize + 1);
+
+        List<OrderDto> orders = afterDate != null && afterId != null
+                ? orderRepository.findPageByStatusAfter(OrderStatus.PENDING, from, to, afterDate, afterId, page)
+                : orderRepository.findPageByStatus(OrderStatus.PENDING, from, to, page);
+
+        LocalDate nextAfterDate = null;
+        Long nextAfterId = null;
+        if (orders.size() > pageSize) {
+            orders = new ArrayList<>(orders.subList(0, pageSize));
+            OrderDto last = orders.get(pageSize - 1);
+            nextAfterDate = last.getOrderDate();
+            nextAfterId = last.getId();
+        }
+
+        long totalCount = orderRepository.countByStatusAndOrderDateBetween(OrderStatus.PENDING, from, to);
+        return new PendingOrdersPageDto(orders, totalCount, nextAfterDate, nextAfterId);
     }
 
     @Transactional
@@ -47,37 +104,82 @@ public class DispatchService {
                 .orderDate(request.getOrderDate())
                 .status(OrderStatus.PENDING)
                 .build();
-        return orderRepository.save(order);
+        Order saved = orderRepository.save(order);
+        liveUpdateService.ordersCreated(List.of(saved));
+        return saved;
     }
 
+    /**
+     * Assigns the given orders to a trip. Each order is claimed with a conditional update that only matches
+     * while it is still pending, so when several dispatchers assign the same order at once exactly one wins;
+     * the others get it back as a conflict with its current status and trip. Orders already on this trip are
+     * left as they are, and conflicts do not undo the orders that were claimed; the caller reads them from the
+     * result rather than from an error status.
+     */
     @Transactional
-    public void assignOrdersToTrip(Long tripId, List<Long> orderIds) {
-        if (orderIds == null || orderIds.isEmpty()) {
-            return;
-        }
-        
+    public AssignOrdersResultDto assignOrdersToTrip(Long tripId, List<Long> orderIds) {
         Trip trip = tripRepository.findById(tripId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Trip not found"));
 
-        List<Order> ordersToAssign = orderRepository.findAllById(orderIds);
-        List<Order> updatedOrders = new ArrayList<>();
+        // Sorted so concurrent requests lock overlapping rows in the same order and cannot deadlock
+        List<Long> ids = orderIds == null ? List.of() : orderIds.stream().filter(Objects::nonNull).distinct().sorted().toList();
+        if (ids.isEmpty()) {
+            return AssignOrdersResultDto.builder()
+                    .tripId(tripId)
+                    .assignedOrderIds(List.of())
+                    .unchangedOrderIds(List.of())
+                    .conflicts(List.of())
+                    .build();
+        }
 
-        for (Order order : ordersToAssign) {
-            if (order.getStatus() == OrderStatus.PENDING) {
-                order.setTrip(trip);
-                order.setStatus(OrderStatus.ASSIGNED);
-                updatedOrders.add(order);
-            } else if (order.getStatus() == OrderStatus.ASSIGNED && !Objects.equals(order.getTrip().getId(), tripId)) {
-                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Order " + order.getId() + " is already assigned to a different trip.");
+        // One batched round trip; each row count says whether this request won that order. The version bump
+        // makes any concurrent entity write based on the pending row fail rather than undo the assignment.
+        Timestamp now = Timestamp.from(Instant.now());
+        int[] claimed = jdbcTemplate.batchUpdate("UPDATE orders SET trip_id = ?, status = 'ASSIGNED', " +
+                        "version = version + 1, updated_at = ? WHERE id = ? AND status = 'PENDING'",
+                ids.stream().map(id -> new Object[]{tripId, now, id}).collect(Collectors.toList()));
+
+        Map<Long, OrderDto> rows = orderRepository.findRowsByIdIn(ids).stream()
+                .collect(Collectors.toMap(OrderDto::getId, Function.identity()));
+
+        List<Long> assigned = new ArrayList<>();
+        List<Long> unchanged = new ArrayList<>();
+        List<AssignOrdersResultDto.Conflict> conflicts = new ArrayList<>();
+        long assignedUnits = 0;
+        for (int i = 0; i < ids.size(); i++) {
+            Long id = ids.get(i);
+            OrderDto row = rows.get(id);
+            if (claimed[i] > 0) {
+                assigned.add(id);
+                assignedUnits += row.getAssignedUnits() != null ? row.getAssignedUnits() : 0;
+            } else if (row == null) {
+                conflicts.add(AssignOrdersResultDto.Conflict.builder().orderId(id).reason("NOT_FOUND").build());
+            } else if (Objects.equals(row.getTripId(), tripId)) {
+                unchanged.add(id);
+            } else {
+                conflicts.add(AssignOrdersResultDto.Conflict.builder()
+                        .orderId(id)
+                        .reason(row.getStatus() == OrderStatus.ASSIGNED ? "ASSIGNED_TO_OTHER_TRIP" : "NOT_PENDING")
+                        .status(row.getStatus().name())
+                        .tripId(row.getTripId())
+                        .build());
             }
         }
-        
-        orderRepository.saveAll(updatedOrders);
 
-        if (trip.getOrders() == null) {
-            trip.setOrders(new ArrayList<>());
+        if (!assigned.isEmpty()) {
+            tripStatsService.recordOrdersAssigned(trip.getTripDate(), assigned.size(), assignedUnits);
+            liveUpdateService.ordersAssigned(trip, assigned);
+        }
+        if (!conflicts.isEmpty()) {
+            logger.info("Assignment to trip {} claimed {} orders; {} conflicted", tripId, assigned.size(), conflicts.size());
         }
-        trip.getOrders().addAll(updatedOrders);
+
+        return AssignOrdersResultDto.builder()
+                .tripId(tripId)
+                .assignedOrderIds(assigned)
+                .unchangedOrderIds(unchanged)
+                .conflicts(conflicts)
+                .build();
     }
 
     @Transactional
@@ -86,8 +188,13 @@ public class DispatchService {
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Order not found"));
 
         if (order.getStatus() == OrderStatus.ASSIGNED) {
-            if (order.getTrip() != null && order.getTrip().getOrders() != null) {
-                order.getTrip().getOrders().remove(order);
+            if (order.getTrip() != null) {
+                liveUpdateService.orderUnassigned(order.getTrip(), order);
+                tripSyncService.recordOrderRemoved(order.getTrip(), order);
+                tripStatsService.recordOrdersUnassigned(order.getTrip().getTripDate(), 1, sumAssignedUnits(List.of(order)));
+                if (order.getTrip().getOrders() != null) {
+                    order.getTrip().getOrders().remove(order);
+                }
             }
             order.setTrip(null);
             order.setStatus(OrderStatus.PENDING);
@@ -102,6 +209,18 @@ public class DispatchService {
         Order order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Order not found"));
 
+        boolean delivered = applyOrderDetails(order, request);
+
+        Order saved = orderRepository.save(order);
+        liveUpdateService.orderUpdated(saved, delivered);
+        return saved;
+    }
+
+    /**
+     * Copies the given fields onto {@code order} and marks it delivered once it has both delivered units and a
+     * payment. Returns whether this call delivered it.
+     */
+    static boolean applyOrderDetails(Order order, UpdateOrderDetailsRequest request) {
         if (request.getDeliveredUnits() != null) {
             order.setDeliveredUnits(request.getDeliveredUnits());
         }
@@ -112,10 +231,19 @@ public class DispatchService {
             order.setWeight(request.getWeight());
         }
 
-        if (order.getDeliveredUnits() != null && order.getPaymentAmount() != null) {
+        boolean delivered = order.getStatus() != OrderStatus.DELIVERED
+                && order.getDeliveredUnits() != null && order.getPaymentAmount() != null;
+        if (delivered) {
             order.setStatus(OrderStatus.DELIVERED);
         }
-        
-        return orderRepository.save(order);
+        return delivered;
+    }
+
+    private static long sumAssignedUnits(List<Order> orders) {
+        return orders.stream()
+                .map(Order::getAssignedUnits)
+                .filter(Objects::nonNull)
+                .mapToLong(Integer::longValue)
+                .sum();
     }
 }
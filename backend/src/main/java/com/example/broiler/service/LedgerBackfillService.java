@@ -0,0 +1,50 @@
+package com.example.broiler.service;
+
+import com.example.broiler.repository.VendorRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Brings the ledger projection up to date at startup for vendors whose history predates it: a vendor with
+ * a different number of ledger rows than summaries and payments is rebuilt, and a vendor that has never had
+ * a cached balance starts from its latest ledger balance. Once every vendor is covered, startup finds
+ * nothing to do.
+ */
+@Service
+@RequiredArgsConstructor
+public class LedgerBackfillService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LedgerBackfillService.class);
+
+    private final VendorRepository vendorRepository;
+    private final LedgerProjectionService ledgerProjectionService;
+    private final TransactionTemplate transactionTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        List<Long> vendorIds = vendorRepository.findIdsWithIncompleteLedger();
+        if (!vendorIds.isEmpty()) {
+            logger.info("Backfilling the ledger of {} vendor(s)", vendorIds.size());
+        }
+        for (Long vendorId : vendorIds) {
+            // One transaction per vendor, so a failure leaves the others backfilled
+            try {
+                ledgerProjectionService.rebuild(vendorId);
+            } catch (RuntimeException e) {
+                logger.error("Ledger backfill failed for vendor {}", vendorId, e);
+            }
+        }
+
+        Integer initialized = transactionTemplate.execute(status -> vendorRepository.initializeMissingCurrentBalances());
+        if (initialized != null && initialized > 0) {
+            logger.info("Initialized the cached balance of {} vendor(s) from their ledger", initialized);
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.example.broiler.service;
+
+import com.example.broiler.domain.DailySummary;
+import com.example.broiler.domain.Vendor;
+import com.example.broiler.domain.VendorLedger;
+import com.example.broiler.domain.VendorPayment;
+import com.example.broiler.repository.DailySummaryRepository;
+import com.example.broiler.repository.VendorLedgerRepository;
+import com.example.broiler.repository.VendorPaymentRepository;
+import com.example.broiler.repository.VendorRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains the {@link VendorLedger} table as a write-time projection of daily summaries and payments.
+ * Each row carries the running balance in (date, seq) order, so reads never have to replay history,
+ * and {@link Vendor#getCurrentBalance()} is moved by the same delta in the same transaction. {@code seq}
+ * numbers a vendor's rows in posting order and is assigned under the vendor's row lock.
+ */
+@Service
+@RequiredArgsConstructor
+public class LedgerProjectionService {
+
+    public static final String TYPE_INVOICE = "INVOICE";
+    public static final String TYPE_PAYMENT = "PAYMENT";
+
+    private final VendorLedgerRepository vendorLedgerRepository;
+    private final VendorRepository vendorRepository;
+    private final DailySummaryRepository dailySummaryRepository;
+    private final VendorPaymentRepository vendorPaymentRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Transactional
+    public VendorLedger appendInvoice(DailySummary summary) {
+        return append(summary.getVendor(), summary.getSummaryDate(), invoiceDescription(summary),
+                summary.getCalculatedAmount(), BigDecimal.ZERO, TYPE_INVOICE, String.valueOf(summary.getId()));
+    }
+
+    @Transactional
+    public VendorLedger appendPayment(VendorPayment payment) {
+        return append(payment.getVendor(), payment.getPaymentDate(), paymentDescription(payment),
+                BigDecimal.ZERO, payment.getAmount(), TYPE_PAYMENT, String.valueOf(payment.getId()));
+    }
+
+    /**
+     * Appends one invoice per vendor for a single day's summaries, e.g. after bulk reconciliation.
+     * Vendors are locked and previous balances read with one statement each, and the ledger rows and
+     * balance increments are written as JDBC batches instead of five statements per vendor.
+     */
+    @Transactional
+    public void appendInvoices(LocalDate date, List<DailySummary> summaries) {
+        if (summaries.isEmpty()) {
+            return;
+        }
+
+        List<Long> vendorIds = summaries.stream()
+                .map(summary -> summary.getVendor().getId())
+                .sorted()
+                .collect(Collectors.toList());
+        vendorRepository.findAllByIdForUpdate(vendorIds);
+
+        Map<Long, BigDecimal> previousBalances = vendorLedgerRepository.findLatestOnOrBefore(vendorIds, date).stream()
+                .collect(Collectors.toMap(row -> row.getVendor().getId(), VendorLedger::getBalance));
+        Set<Long> vendorsWithLaterEntries = new HashSet<>(
+                vendorLedgerRepository.findVendorIdsWithEntriesAfter(vendorIds, date));
+        Map<Long, Long> maxSeqs = vendorLedgerRepository.findMaxSeqs(vendorIds).stream()
+                .collect(Collectors.toMap(row -> (Long) row[0], row -> (Long) row[1]));
+
+        List<Object[]> ledgerRows = new ArrayList<>();
+        List<Object[]> balanceAdjustments = new ArrayList<>();
+        for (DailySummary summary : summaries) {
+            Long vendorId = summary.getVendor().getId();
+            BigDecimal delta = summary.getCalculatedAmount();
+
+            // Rare for end-of-day runs: only a back-dated reconciliation has later entries to shift
+            if (vendorsWithLaterEntries.contains(vendorId)) {
+                vendorLedgerRepository.shiftBalancesAfter(vendorId, date, delta);
+            }
+
+            BigDecimal balance = previousBalances.getOrDefault(vendorId, BigDecimal.ZERO).add(delta);
+            ledgerRows.add(new Object[]{vendorId, date, maxSeqs.getOrDefault(vendorId, 0L) + 1, invoiceDescription(summary),
+                    delta, BigDecimal.ZERO, balance, String.valueOf(summary.getId()), TYPE_INVOICE});
+            balanceAdjustments.add(new Object[]{delta, vendorId});
+        }
+
+        // Draws ids from the same pooled sequence Hibernate uses; each nextval is the top of its own block.
+        // Ids are therefore not in insertion order, which is what seq is for.
+        jdbcTemplate.batchUpdate("INSERT INTO vendor_ledger (id, vendor_id, date, seq, description, debit, credit, " +
+                "balance, reference_id, type) VALUES (nextval('vendor_ledger_seq'), ?, ?, ?, ?, ?, ?, ?, ?, ?)", ledgerRows);
+        jdbcTemplate.batchUpdate("UPDATE vendor SET current_balance = COALESCE(current_balance, 0) + ? WHERE id = ?",
+                balanceAdjustments);
+    }
+
+    /**
+     * Drops and regenerates a vendor's projection from its summaries and payments.
+     * Used to backfill history recorded before the projection existed.
+     */
+    @Transactional
+    public void rebuild(Long vendorId) {
+        Vendor vendor = vendorRepository.findByIdForUpdate(vendorId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Vendor not found"));
+
+        vendorLedgerRepository.deleteByVendorId(vendorId);
+
+        List<VendorLedger> rows = new ArrayList<>();
+        for (DailySummary summary : dailySummaryRepository.findByVendorOrderBySummaryDateDesc(vendor)) {
+            rows.add(VendorLedger.builder()
+                    .vendor(vendor)
+                    .date(summary.getSummaryDate())
+                    .description(invoiceDescription(summary))
+                    .debit(summary.getCalculatedAmount())
+                    .credit(BigDecimal.ZERO)
+                    .type(TYPE_INVOICE)
+                    .referenceId(String.valueOf(summary.getId()))
+                    .build());
+        }
+        for (VendorPayment payment : vendorPaymentRepository.findByVendor(vendor)) {
+            rows.add(VendorLedger.builder()
+                    .vendor(vendor)
+                    .date(payment.getPaymentDate())
+                    .description(paymentDescription(payment))
+                    .debit(BigDecimal.ZERO)
+                    .credit(payment.getAmount())
+                    .type(TYPE_PAYMENT)
+                    .referenceId(String.valueOf(payment.getId()))
+                    .build());
+        }
+
+        // Stable sort keeps invoices ahead of payments on the same day, matching insertion order afterwards
+        rows.sort(Comparator.comparing(VendorLedger::getDate));
+
+        BigDecimal runningBalance = BigDecimal.ZERO;
+        long seq = 0;
+        for (VendorLedger row : rows) {
+            runningBalance = runningBalance.add(row.getDebit()).subtract(row.getCredit());
+            row.setBalance(runningBalance);
+            row.setSeq(++seq);
+        }
+        vendorLedgerRepository.saveAll(rows);
+        vendorRepository.setCurrentBalance(vendorId, runningBalance);
+    }
+
+    @Transactional
+    public void rebuildAll() {
+        for (Vendor vendor : vendorRepository.findAll()) {
+            rebuild(vendor.getId());
+        }
+    }
+
+    private VendorLedger append(Vendor vendor, LocalDate date, String description, BigDecimal debit,
+                                BigDecimal credit, String type, String referenceId) {
+        // Serialize appends per vendor so two writers never build on the same previous balance
+        vendorRepository.findByIdForUpdate(vendor.getId())
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Vendor not found"));
+
+        BigDecimal delta = debit.subtract(credit);
+        BigDecimal previousBalance = vendorLedgerRepository
+                .findFirstByVendorIdAndDateLessThanEqualOrderByDateDescSeqDesc(vendor.getId(), date)
+                .map(VendorLedger::getBalance)
+                .orElse(BigDecimal.ZERO);
+
+        // A back-dated entry moves the running balance of everything recorded after it
+        vendorLedgerRepository.shiftBalancesAfter(vendor.getId(), date, delta);
+        vendorRepository.adjustCurrentBalance(vendor.getId(), delta);
+
+        return vendorLedgerRepository.save(VendorLedger.builder()
+                .vendor(vendor)
+                .date(date)
+                .seq(vendorLedgerRepository.findMaxSeq(vendor.getId()) + 1)
+                .description(description)
+                .debit(debit)
+                .credit(credit)
+                .balance(previousBalance.add(delta))
+                .type(type)
+                .referenceId(referenceId)
+                .build());
+    }
+
+    private static String invoiceDescription(DailySummary summary) {
+        return "Daily Summary - " + summary.getSummaryDate() + " (Rate: " + summary.getAppliedRate() + ")";
+    }
+
+    private static String paymentDescription(VendorPayment payment) {
+        return "Payment - " + payment.getPaymentMethod();
+    }
+}
@@ -1,14 +1,19 @@
 package com.example.broiler.service;
 
 import com.example.broiler.domain.DailySummary;
+import com.example.broiler.domain.Order;
 import com.example.broiler.domain.Vendor;
+import com.example.broiler.domain.VendorLedger;
 import com.example.broiler.domain.VendorPayment;
 import com.example.broiler.repository.DailySummaryRepository;
+import com.example.broiler.repository.VendorLedgerRepository;
 import com.example.broiler.repository.VendorPaymentRepository;
 import com.example.broiler.repository.VendorRepository;
 import com.example.broiler.repository.OrderRepository;
 import com.example.broiler.web.dto.*;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -17,8 +22,9 @@ import org.springframework.web.server.ResponseStatusException;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -29,110 +35,102 @@ public class LedgerService {
         private final DailySummaryRepository dailySummaryRepository;
         private final VendorPaymentRepository vendorPaymentRepository;
         private final OrderRepository orderRepository;
+        private final VendorLedgerRepository vendorLedgerRepository;
+        private final LedgerProjectionService ledgerProjectionService;
 
+        public static final int DEFAULT_LEDGER_PAGE_SIZE = 50;
+        public static final int MAX_LEDGER_PAGE_SIZE = 500;
+
+        /**
+         * Reads one page of the vendor's ledger projection, newest first. Pass the returned nextBeforeDate
+         * and nextBeforeSeq as the cursor to continue; omit both for the first page. The cursor is null
+         * once the oldest entry has been returned.
+         */
         @Transactional(readOnly = true)
-        public VendorLedgerDto getVendorLedger(Long vendorId) {
+        public VendorLedgerDto getVendorLedger(Long vendorId, LocalDate beforeDate, Long beforeSeq, Integer limit) {
                 Vendor vendor = vendorRepository.findById(vendorId)
                                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND,
                                                 "Vendor not found"));
 
-                List<DailySummary> summaries = dailySummaryRepository.findByVendorOrderBySummaryDateDesc(vendor);
-                List<VendorPayment> payments = vendorPaymentRepository.findByVendor(vendor);
-
-                BigDecimal totalCalculatedAmount = summaries.stream()
-                                .map(DailySummary::getCalculatedAmount)
-                                .reduce(BigDecimal.ZERO, BigDecimal::add);
+                int pageSize = limit == null ? DEFAULT_LEDGER_PAGE_SIZE
+                                : Math.max(1, Math.min(limit, MAX_LEDGER_PAGE_SIZE));
+                // One extra row tells whether an older page exists
+                Pageable page = PageRequest.of(0, pageSize + 1);
 
-                BigDecimal totalPaidAmount = payments.stream()
-                                .map(VendorPayment::getAmount)
-                                .reduce(BigDecimal.ZERO, BigDecimal::add);
+                List<VendorLedger> rows;
+                if (beforeDate != null && beforeSeq != null) {
+                        rows = vendorLedgerRepository.findPageBefore(vendorId, beforeDate, beforeSeq, page);
+                } else {
+                        rows = vendorLedgerRepository.findLatestPage(vendorId, page);
+                }
+                boolean hasMore = rows.size() > pageSize;
+                if (hasMore) {
+                        rows = rows.subList(0, pageSize);
+                }
 
+                VendorLedgerRepository.LedgerTotals totals = vendorLedgerRepository.getTotals(vendorId);
+                BigDecimal totalCalculatedAmount = totals.getTotalDebit();
+                BigDecimal totalPaidAmount = totals.getTotalCredit();
                 BigDecimal totalDueAmount = totalCalculatedAmount.subtract(totalPaidAmount);
 
-                // Build unified ledger entries
-                List<LedgerEntryDto> entries = new ArrayList<>();
+                Map<LocalDate, List<TripDetailsDto>> tripDetailsByDate = getTripDetailsByDate(vendorId, rows);
 
-                for (DailySummary summary : summaries) {
-                        List<com.example.broiler.domain.Order> orders = orderRepository.findByVendorAndOrderDate(vendor,
-                                        summary.getSummaryDate());
-                        List<TripDetailsDto> tripDetails = orders.stream()
-                                        .map(order -> TripDetailsDto.builder()
-                                                        .tripId(order.getTrip().getId())
-                                                        .routeName(order.getTrip().getRouteName())
-                                                        .driverName(order.getTrip().getDriver().getName())
-                                                        .units(order.getAssignedUnits())
-                                                        .weight(order.getWeight())
-                                                        .build())
-                                        .collect(Collectors.toList());
+                List<LedgerEntryDto> entries = new ArrayList<>();
+                for (VendorLedger row : rows) {
+                        List<TripDetailsDto> tripDetails = null;
+                        if (LedgerProjectionService.TYPE_INVOICE.equals(row.getType())) {
+                                tripDetails = tripDetailsByDate.getOrDefault(row.getDate(), List.of());
+                        }
 
                         entries.add(LedgerEntryDto.builder()
-                                        .date(summary.getSummaryDate())
-                                        .description("Daily Summary - " + summary.getSummaryDate() + " (Rate: "
-                                                        + summary.getAppliedRate() + ")")
-                                        .debit(summary.getCalculatedAmount())
-                                        .credit(BigDecimal.ZERO)
-                                        .type("INVOICE")
-                                        .referenceId(String.valueOf(summary.getId()))
+                                        .entryId(row.getId())
+                                        .seq(row.getSeq())
+                                        .date(row.getDate())
+                                        .description(row.getDescription())
+                                        .debit(row.getDebit())
+                                        .credit(row.getCredit())
+                                        .balance(row.getBalance())
+                                        .type(row.getType())
+                                        .referenceId(row.getReferenceId())
                                         .tripDetails(tripDetails)
                                         .build());
                 }
 
-                for (VendorPayment payment : payments) {
-                        entries.add(LedgerEntryDto.builder()
-                                        .date(payment.getPaymentDate())
-                                        .description("Payment - " + payment.getPaymentMethod())
-                                        .debit(BigDecimal.ZERO)
-                                        .credit(payment.getAmount())
-                                        .type("PAYMENT")
-                                        .referenceId(String.valueOf(payment.getId()))
-                                        .build());
-                }
-
-                // Sort by date ascending to calculate running balance
-                entries.sort(Comparator.comparing(LedgerEntryDto::getDate));
+                VendorLedger last = hasMore ? rows.get(rows.size() - 1) : null;
+                return new VendorLedgerDto(vendor.getName(), totalCalculatedAmount, totalPaidAmount, totalDueAmount,
+                                entries, last != null ? last.getDate() : null, last != null ? last.getSeq() : null);
+        }
 
-                BigDecimal runningBalance = BigDecimal.ZERO;
-                for (LedgerEntryDto entry : entries) {
-                        runningBalance = runningBalance.add(entry.getDebit()).subtract(entry.getCredit());
-                        entry.setBalance(runningBalance);
+        /**
+         * Loads the trip details for every invoice on the page with one query over the page's date span.
+         */
+        private Map<LocalDate, List<TripDetailsDto>> getTripDetailsByDate(Long vendorId, List<VendorLedger> rows) {
+                List<LocalDate> invoiceDates = rows.stream()
+                                .filter(row -> LedgerProjectionService.TYPE_INVOICE.equals(row.getType()))
+                                .map(VendorLedger::getDate)
+                                .collect(Collectors.toList());
+                if (invoiceDates.isEmpty()) {
+                        return Map.of();
                 }
 
-                // Sort by date descending for display (latest first)
-                entries.sort(Comparator.comparing(LedgerEntryDto::getDate).reversed());
-
-                return new VendorLedgerDto(vendor.getName(), totalCalculatedAmount, totalPaidAmount, totalDueAmount,
-                                entries);
+                LocalDate startDate = Collections.min(invoiceDates);
+                LocalDate endDate = Collections.max(invoiceDates);
+
+                return orderRepository.findByVendorIdAndOrderDateBetweenWithTripAndDriver(vendorId, startDate, endDate)
+                                .stream()
+                                .collect(Collectors.groupingBy(Order::getOrderDate,
+                                                Collectors.mapping(order -> TripDetailsDto.builder()
+                                                                .tripId(order.getTrip().getId())
+                                                                .routeName(order.getTrip().getRouteName())
+                                                                .driverName(order.getTrip().getDriver().getName())
+                                                                .units(order.getAssignedUnits())
+                                                                .weight(order.getWeight())
+                                                                .build(), Collectors.toList())));
         }
 
         @Transactional(readOnly = true)
         public List<VendorFinancialSummaryDto> getVendorFinancialSummaries() {
-                List<Vendor> vendors = vendorRepository.findAll();
-                List<VendorFinancialSummaryDto> summaries = new ArrayList<>();
-
-                for (Vendor vendor : vendors) {
-                        List<DailySummary> dailySummaries = dailySummaryRepository
-                                        .findByVendorOrderBySummaryDateDesc(vendor);
-                        List<VendorPayment> payments = vendorPaymentRepository.findByVendor(vendor);
-
-                        BigDecimal totalBilled = dailySummaries.stream()
-                                        .map(DailySummary::getCalculatedAmount)
-                                        .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-                        BigDecimal totalPaid = payments.stream()
-                                        .map(VendorPayment::getAmount)
-                                        .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-                        BigDecimal outstandingBalance = totalBilled.subtract(totalPaid);
-
-                        summaries.add(VendorFinancialSummaryDto.builder()
-                                        .vendorId(vendor.getId())
-                                        .vendorName(vendor.getName())
-                                        .totalBilled(totalBilled)
-                                        .totalPaid(totalPaid)
-                                        .outstandingBalance(outstandingBalance)
-                                        .build());
-                }
-                return summaries;
+                return vendorRepository.getFinancialSummaries();
         }
 
         @Transactional(readOnly = true)
@@ -189,6 +187,18 @@ public class LedgerService {
                                 .notes(request.getNotes())
                                 .build();
 
-                return vendorPaymentRepository.save(payment);
+                VendorPayment saved = vendorPaymentRepository.save(payment);
+                ledgerProjectionService.appendPayment(saved);
+                return saved;
+        }
+
+        @Transactional
+        public void rebuildVendorLedger(Long vendorId) {
+                ledgerProjectionService.rebuild(vendorId);
+        }
+
+        @Transactional
+        public void rebuildAllVendorLedgers() {
+                ledgerProjectionService.rebuildAll();
         }
 }
@@ -0,0 +1,334 @@
+package com.example.broiler.service;
+
+import com.example.broiler.domain.Order;
+import com.example.broiler.domain.Trip;
+import com.example.broiler.web.dto.LiveUpdateDto;
+import com.example.broiler.web.dto.NamedRefDto;
+import com.example.broiler.web.dto.OrderDto;
+import com.example.broiler.web.dto.TripDto;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+
+/**
+ * In-process bus behind the live-update streams. Services publish trip and order changes here; each is
+ * delivered after its transaction commits to every open stream allowed to see it: dispatch streams see
+ * everything, a driver's stream only the trips that driver drives.
+ * <p>
+ * Event ids are {@code <instance>-<sequence>}. The most recent events are kept so a client reconnecting with
+ * {@code Last-Event-ID} gets what it missed; when that is no longer possible (the id is too old, or from
+ * before a restart) it gets a {@code RESYNC} event and should reload its data. Every stream has its own
+ * virtual thread and bounded queue, so a slow client delays only itself; one that falls too far behind
+ * gets {@code RESYNC} and is closed.
+ */
+@Service
+public class LiveUpdateService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LiveUpdateService.class);
+
+    public static final String ORDERS_CREATED = "ORDERS_CREATED";
+    public static final String ORDERS_ASSIGNED = "ORDERS_ASSIGNED";
+    public static final String ORDER_UNASSIGNED = "ORDER_UNASSIGNED";
+    public static final String ORDER_UPDATED = "ORDER_UPDATED";
+    public static final String ORDER_DELIVERED = "ORDER_DELIVERED";
+    public static final String TRIP_CREATED = "TRIP_CREATED";
+    public static final String TRIP_UPDATED = "TRIP_UPDATED";
+    public static final String TRIP_CLOSED = "TRIP_CLOSED";
+    public static final String RESYNC = "RESYNC";
+
+    // Tells the browser how long to wait before reconnecting after the stream drops
+    private static final long RECONNECT_DELAY_MS = 3000;
+
+    private final String instanceId = Long.toString(System.currentTimeMillis(), 36);
+    private final int replaySize;
+    private final int queueCapacity;
+    private final long heartbeatMillis;
+    private final long streamTimeoutMillis;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ArrayDeque<Published> recent = new ArrayDeque<>();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private long lastSequence;
+
+    public LiveUpdateService(@Value("${app.live.replay-size:1000}") int replaySize,
+                             @Value("${app.live.subscriber-queue:256}") int queueCapacity,
+                             @Value("${app.live.heartbeat:20s}") Duration heartbeat,
+                             @Value("${app.live.stream-timeout:30m}") Duration streamTimeout,
+                             MeterRegistry meterRegistry) {
+        this.replaySize = replaySize;
+        this.queueCapacity = queueCapacity;
+        this.heartbeatMillis = heartbeat.toMillis();
+        this.streamTimeoutMillis = streamTimeout.toMillis();
+        Gauge.builder("live.subscribers", subscribers, Set::size)
+                .description("Open live-update streams")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Opens a stream of every event, for the dispatch board.
+     */
+    public SseEmitter subscribeDispatch(String lastEventId) {
+        return subscribe(event -> true, lastEventId);
+    }
+
+    /**
+     * Opens a stream of the events on trips driven by {@code username}.
+     */
+    public SseEmitter subscribeDriver(String username, String lastEventId) {
+        return subscribe(event -> event.drivers().contains(username), lastEventId);
+    }
+
+    public void ordersCreated(Collection<Order> orders) {
+        if (orders.isEmpty()) {
+            return;
+        }
+        publish(Set.of(), LiveUpdateDto.builder()
+                .type(ORDERS_CREATED)
+                .orderIds(orders.stream().map(Order::getId).toList())
+                .build());
+    }
+
+    public void ordersAssigned(Trip trip, List<Long> orderIds) {
+        if (orderIds.isEmpty()) {
+            return;
+        }
+        publish(Set.of(trip.getDriver().getUsername()), LiveUpdateDto.builder()
+                .type(ORDERS_ASSIGNED)
+                .tripId(trip.getId())
+                .tripDate(trip.getTripDate())
+                .orderIds(orderIds)
+                .build());
+    }
+
+    public void orderUnassigned(Trip trip, Order order) {
+        publish(Set.of(trip.getDriver().getUsername()), LiveUpdateDto.builder()
+                .type(ORDER_UNASSIGNED)
+                .tripId(trip.getId())
+                .tripDate(trip.getTripDate())
+                .orderIds(List.of(order.getId()))
+                .build());
+    }
+
+    public void orderUpdated(Order order, boolean delivered) {
+        Trip trip = order.getTrip();
+        publish(trip != null ? Set.of(trip.getDriver().getUsername()) : Set.of(), LiveUpdateDto.builder()
+                .type(delivered ? ORDER_DELIVERED : ORDER_UPDATED)
+                .tripId(trip != null ? trip.getId() : null)
+                .tripDate(trip != null ? trip.getTripDate() : null)
+                .orderIds(List.of(order.getId()))
+                .order(OrderDto.from(order))
+                .build());
+    }
+
+    /**
+     * A trip was created, changed or closed. {@code previousDriver} is the username of the driver it was
+     * taken from, if it was reassigned, so their stream learns to drop it.
+     */
+    public void tripChanged(String type, Trip trip, String previousDriver) {
+        String driver = trip.getDriver().getUsername();
+        publish(previousDriver != null ? Set.of(driver, previousDriver) : Set.of(driver), LiveUpdateDto.builder()
+                .type(type)
+                .tripId(trip.getId())
+                .tripDate(trip.getTripDate())
+                .trip(TripDto.builder()
+                        .id(trip.getId())
+                        .tripDate(trip.getTripDate())
+                        .status(trip.getStatus())
+                        .routeName(trip.getRouteName())
+                        .loadedWeight(trip.getLoadedWeight())
+                        .stockWeight(trip.getStockWeight())
+                        .driver(new NamedRefDto(trip.getDriver().getId(), trip.getDriver().getName()))
+                        .build())
+                .build());
+    }
+
+    /**
+     * Delivers {@code payload} once the surrounding transaction commits (and never if it rolls back), or
+     * immediately outside a transaction.
+     */
+    private void publish(Set<String> drivers, LiveUpdateDto payload) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    deliver(drivers, payload);
+                }
+            });
+        } else {
+            deliver(drivers, payload);
+        }
+    }
+
+    private void deliver(Set<String> drivers, LiveUpdateDto payload) {
+        lock.lock();
+        try {
+            Published event = new Published(++lastSequence, drivers, payload);
+            recent.addLast(event);
+            if (recent.size() > replaySize) {
+                recent.removeFirst();
+            }
+            for (Subscriber subscriber : subscribers) {
+                subscriber.offer(event);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private SseEmitter subscribe(Predicate<Published> filter, String lastEventId) {
+        SseEmitter emitter = new SseEmitter(streamTimeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter, filter);
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(() -> {
+            // Completing here ends the stream cleanly; the client reconnects with its Last-Event-ID
+            subscriber.close();
+            emitter.complete();
+        });
+        emitter.onError(error -> subscriber.close());
+
+        lock.lock();
+        try {
+            // Replay and registration happen under the lock, so no event is missed or sent twice
+            if (lastEventId != null && !lastEventId.isBlank()) {
+                Long after = sequenceOf(lastEventId);
+                long oldestKept = recent.isEmpty() ? lastSequence + 1 : recent.getFirst().sequence();
+                if (after == null || after > lastSequence || after < oldestKept - 1) {
+                    subscriber.resync = true;
+                } else {
+                    for (Published event : recent) {
+                        if (event.sequence() > after) {
+                            subscriber.offer(event);
+                        }
+                    }
+                }
+            }
+            subscribers.add(subscriber);
+        } finally {
+            lock.unlock();
+        }
+
+        subscriber.thread = Thread.ofVirtual().name("live-update").start(subscriber::run);
+        return emitter;
+    }
+
+    private Long sequenceOf(String eventId) {
+        int dash = eventId.lastIndexOf('-');
+        if (dash < 0 || !eventId.substring(0, dash).equals(instanceId)) {
+            return null;
+        }
+        try {
+            return Long.parseLong(eventId.substring(dash + 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private long lastSequence() {
+        lock.lock();
+        try {
+            return lastSequence;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private String eventId(long sequence) {
+        return instanceId + "-" + sequence;
+    }
+
+    /**
+     * Ends every open stream so shutdown is not held up by clients that never disconnect.
+     */
+    @PreDestroy
+    public void closeAll() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.emitter.complete();
+            subscriber.close();
+        }
+    }
+
+    private record Published(long sequence, Set<String> drivers, LiveUpdateDto payload) {
+    }
+
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final Predicate<Published> filter;
+        private final BlockingQueue<Published> queue = new ArrayBlockingQueue<>(queueCapacity);
+        private volatile boolean resync;
+        private volatile boolean closed;
+        private volatile Thread thread;
+
+        private Subscriber(SseEmitter emitter, Predicate<Published> filter) {
+            this.emitter = emitter;
+            this.filter = filter;
+        }
+
+        private void offer(Published event) {
+            if (filter.test(event) && !queue.offer(event)) {
+                resync = true;
+            }
+        }
+
+        private void run() {
+            try {
+                emitter.send(SseEmitter.event().comment("connected").reconnectTime(RECONNECT_DELAY_MS));
+                while (!closed) {
+                    if (resync) {
+                        emitter.send(SseEmitter.event()
+                                .id(eventId(lastSequence()))
+                                .name(RESYNC)
+                                .data(LiveUpdateDto.builder().type(RESYNC).build(), MediaType.APPLICATION_JSON));
+                        emitter.complete();
+                        break;
+                    }
+                    Published event = queue.poll(heartbeatMillis, TimeUnit.MILLISECONDS);
+                    if (event == null) {
+                        emitter.send(SseEmitter.event().comment("heartbeat"));
+                    } else {
+                        emitter.send(SseEmitter.event()
+                                .id(eventId(event.sequence()))
+                                .name(event.payload().getType())
+                                .data(event.payload(), MediaType.APPLICATION_JSON));
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (IOException | IllegalStateException e) {
+                // The client went away; the emitter callbacks finish the cleanup
+                logger.debug("Live update stream closed: {}", e.getMessage());
+            } finally {
+                close();
+            }
+        }
+
+        private void close() {
+            closed = true;
+            subscribers.remove(this);
+            Thread running = thread;
+            if (running != null && running != Thread.currentThread()) {
+                running.interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,262 @@
+package com.example.broiler.service;
+
+import com.example.broiler.domain.Order;
+import com.example.broiler.domain.OrderStatus;
+import com.example.broiler.domain.Vendor;
+import com.example.broiler.repository.OrderRepository;
+import com.example.broiler.repository.VendorRepository;
+import com.example.broiler.web.dto.CreateOrderRequest;
+import com.example.broiler.web.dto.OrderImportResultDto;
+import com.example.broiler.web.dto.OrderImportSummaryDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Streams a CSV or NDJSON file of {@link CreateOrderRequest} rows into orders. Rows are parsed one line at a
+ * time and written in fixed-size chunks, each in its own transaction, so memory stays flat regardless of file size.
+ */
+@Service
+@RequiredArgsConstructor
+public class OrderImportService {
+
+    public static final int CHUNK_SIZE = 500;
+
+    private static final List<String> DEFAULT_CSV_COLUMNS = List.of("vendorId", "assignedUnits", "orderDate");
+    private static final String BOM = "\uFEFF";
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderImportService.class);
+
+    private final OrderRepository orderRepository;
+    private final VendorRepository vendorRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final LiveUpdateService liveUpdateService;
+
+    public enum Format { CSV, NDJSON }
+
+    /**
+     * Imports every row from {@code reader}, handing one result per row to {@code resultConsumer}
+     * as soon as its chunk has been committed.
+     */
+    public OrderImportSummaryDto importOrders(Reader reader, Format format, Consumer<OrderImportResultDto> resultConsumer)
+            throws IOException {
+        Set<Long> vendorIds = new HashSet<>(vendorRepository.findAllIds());
+
+        BufferedReader lines = new BufferedReader(reader);
+        List<String> csvColumns = DEFAULT_CSV_COLUMNS;
+        List<PendingRow> chunk = new ArrayList<>(CHUNK_SIZE);
+        long rowNumber = 0;
+        long created = 0;
+        long failed = 0;
+
+        boolean headerAllowed = format == Format.CSV;
+
+        String line;
+        while ((line = lines.readLine()) != null) {
+            rowNumber++;
+            // Excel and other Windows tools start UTF-8 exports with a byte order mark
+            if (rowNumber == 1 && line.startsWith(BOM)) {
+                line = line.substring(1);
+            }
+            if (line.isBlank()) {
+                continue;
+            }
+
+            try {
+                // The first non-blank CSV row may be a header naming the columns; a first field starting with a
+                // digit is data
+                if (headerAllowed) {
+                    headerAllowed = false;
+                    List<String> values = splitCsv(line);
+                    if (values.get(0).isEmpty() || !Character.isDigit(values.get(0).charAt(0))) {
+                        csvColumns = values;
+                        continue;
+                    }
+                }
+
+                CreateOrderRequest request = format == Format.CSV
+                        ? parseCsv(line, csvColumns)
+                        : objectMapper.readValue(line, CreateOrderRequest.class);
+                String error = validate(request, vendorIds);
+                if (error != null) {
+                    failed++;
+                    resultConsumer.accept(failure(rowNumber, error));
+                    continue;
+                }
+                chunk.add(new PendingRow(rowNumber, request));
+            } catch (Exception e) {
+                failed++;
+                resultConsumer.accept(failure(rowNumber, "Unparseable row: " + e.getMessage()));
+                continue;
+            }
+
+            if (chunk.size() >= CHUNK_SIZE) {
+                int written = writeChunk(chunk, resultConsumer);
+                created += written;
+                failed += chunk.size() - written;
+                chunk.clear();
+            }
+        }
+
+        if (!chunk.isEmpty()) {
+            int written = writeChunk(chunk, resultConsumer);
+            created += written;
+            failed += chunk.size() - written;
+        }
+
+        return OrderImportSummaryDto.builder()
+                .totalRows(created + failed)
+                .created(created)
+                .failed(failed)
+                .build();
+    }
+
+    /**
+     * Inserts one chunk in its own transaction and reports each row; returns how many rows were created.
+     */
+    private int writeChunk(List<PendingRow> chunk, Consumer<OrderImportResultDto> resultConsumer) {
+        List<Order> saved;
+        try {
+            saved = transactionTemplate.execute(status -> {
+                List<Order> orders = chunk.stream()
+                        .map(row -> Order.builder()
+                                .vendor(entityManager.getReference(Vendor.class, row.request().getVendorId()))
+                                .assignedUnits(row.request().getAssignedUnits())
+                                .orderDate(row.request().getOrderDate())
+                                .status(OrderStatus.PENDING)
+                                .build())
+                        .collect(Collectors.toList());
+                List<Order> result = orderRepository.saveAll(orders);
+                entityManager.flush();
+                entityManager.clear();
+                return result;
+            });
+        } catch (RuntimeException e) {
+            // The database message names tables and constraints, so it stays in the server log
+            logger.error("Order import chunk of rows {}-{} was rejected by the database",
+                    chunk.get(0).rowNumber(), chunk.get(chunk.size() - 1).rowNumber(), e);
+            for (PendingRow row : chunk) {
+                resultConsumer.accept(failure(row.rowNumber(),
+                        "Could not be saved with the other rows in its chunk; check the chunk and import it again"));
+            }
+            return 0;
+        }
+        liveUpdateService.ordersCreated(saved);
+
+        for (int i = 0; i < chunk.size(); i++) {
+            resultConsumer.accept(OrderImportResultDto.builder()
+                    .row(chunk.get(i).rowNumber())
+                    .status("CREATED")
+                    .orderId(saved.get(i).getId())
+                    .build());
+        }
+        return chunk.size();
+    }
+
+    private CreateOrderRequest parseCsv(String line, List<String> columns) {
+        List<String> values = splitCsv(line);
+        if (values.size() != columns.size()) {
+            throw new IllegalArgumentException("expected " + columns.size() + " columns but found " + values.size());
+        }
+        Map<String, String> fields = new LinkedHashMap<>();
+        for (int i = 0; i < columns.size(); i++) {
+            fields.put(columns.get(i), values.get(i).isEmpty() ? null : values.get(i));
+        }
+        // Bind through Jackson so CSV and NDJSON rows share the same type conversion as the JSON endpoint
+        return objectMapper.convertValue(fields, CreateOrderRequest.class);
+    }
+
+    private String validate(CreateOrderRequest request, Set<Long> vendorIds) {
+        Set<ConstraintViolation<CreateOrderRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(v -> v.getPropertyPath() + " " + v.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", "));
+        }
+        if (!vendorIds.contains(request.getVendorId())) {
+            return "Vendor not found: " + request.getVendorId();
+        }
+        return null;
+    }
+
+    /**
+     * Splits one CSV line into trimmed fields. A field may be quoted to contain commas, with {@code ""} for a
+     * literal quote; a quoted field cannot span lines.
+     */
+    private static List<String> splitCsv(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        int i = 0;
+        while (true) {
+            while (i < line.length() && line.charAt(i) == ' ') {
+                i++;
+            }
+            if (i < line.length() && line.charAt(i) == '"') {
+                i++;
+                while (true) {
+                    if (i >= line.length()) {
+                        throw new IllegalArgumentException("unterminated quoted field (quoted fields cannot contain line breaks)");
+                    }
+                    char c = line.charAt(i++);
+                    if (c != '"') {
+                        value.append(c);
+                    } else if (i < line.length() && line.charAt(i) == '"') {
+                        value.append('"');
+                        i++;
+                    } else {
+                        break;
+                    }
+                }
+                while (i < line.length() && line.charAt(i) == ' ') {
+                    i++;
+                }
+                if (i < line.length() && line.charAt(i) != ',') {
+                    throw new IllegalArgumentException("unexpected text after quoted field " + (values.size() + 1));
+                }
+            } else {
+                while (i < line.length() && line.charAt(i) != ',') {
+                    value.append(line.charAt(i++));
+                }
+            }
+            values.add(value.toString().trim());
+            value.setLength(0);
+            if (i >= line.length()) {
+                return values;
+            }
+            i++; // Skip the comma
+        }
+    }
+
+    private static OrderImportResultDto failure(long rowNumber, String error) {
+        return OrderImportResultDto.builder()
+                .row(rowNumber)
+                .status("FAILED")
+                .error(error)
+                .build();
+    }
+
+    private record PendingRow(long rowNumber, CreateOrderRequest request) {
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.broiler.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.function.Function;
+
+/**
+ * Bounded in-memory caches behind {@link RateService}: the base rate by date and the rate offset by vendor.
+ * Only found values are cached, so a missing rate or vendor is looked up again on the next call.
+ * Hit, miss and eviction counts are published as {@code cache.*} metrics tagged {@code rates.base} and
+ * {@code rates.vendor-offset}.
+ */
+@Component
+public class RateCache {
+
+    private final Cache<LocalDate, BigDecimal> baseRates;
+    private final Cache<Long, BigDecimal> vendorOffsets;
+
+    public RateCache(@Value("${app.rates.cache.max-dates:400}") long maxDates,
+                     @Value("${app.rates.cache.max-vendors:5000}") long maxVendors,
+                     @Value("${app.rates.cache.ttl:10m}") Duration ttl,
+                     MeterRegistry meterRegistry) {
+        this.baseRates = Caffeine.newBuilder()
+                .maximumSize(maxDates)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.vendorOffsets = Caffeine.newBuilder()
+                .maximumSize(maxVendors)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, baseRates, "rates.base");
+        CaffeineCacheMetrics.monitor(meterRegistry, vendorOffsets, "rates.vendor-offset");
+    }
+
+    public BigDecimal getBaseRate(LocalDate date, Function<LocalDate, BigDecimal> loader) {
+        return baseRates.get(date, loader);
+    }
+
+    public BigDecimal getVendorOffset(Long vendorId, Function<Long, BigDecimal> loader) {
+        return vendorOffsets.get(vendorId, loader);
+    }
+
+    public void evictBaseRate(LocalDate date) {
+        evict(() -> baseRates.invalidate(date));
+    }
+
+    public void evictVendorOffset(Long vendorId) {
+        evict(() -> vendorOffsets.invalidate(vendorId));
+    }
+
+    /**
+     * Evicts now and again after the surrounding transaction commits, so a reader that reloads the
+     * old value before the commit becomes visible cannot leave it cached.
+     */
+    private static void evict(Runnable invalidation) {
+        invalidation.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidation.run();
+                }
+            });
+        }
+    }
+}
@@ -2,35 +2,55 @@ package com.example.broiler.service;
 
 import com.example.broiler.domain.DailyRate;
 import com.example.broiler.domain.Vendor;
+import com.example.broiler.domain.VendorRateOffset;
 import com.example.broiler.repository.DailyRateRepository;
+import com.example.broiler.repository.VendorRateOffsetRepository;
 import com.example.broiler.repository.VendorRepository;
+import com.example.broiler.web.dto.HistoricalRateDto;
 import com.example.broiler.web.dto.RateCardDto;
+import com.example.broiler.web.dto.RateCardSaveResultDto;
+import com.example.broiler.web.dto.RateHistoryDto;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class RateService {
 
+    // Effective date of a vendor's first offset, so every reconciliation date resolves to some entry
+    public static final LocalDate BASELINE_OFFSET_DATE = LocalDate.EPOCH;
+
     private final DailyRateRepository dailyRateRepository;
     private final VendorRepository vendorRepository;
+    private final VendorRateOffsetRepository vendorRateOffsetRepository;
+    private final RateCache rateCache;
+    private final VendorOffsetIndex vendorOffsetIndex;
+    private final JdbcTemplate jdbcTemplate;
 
     @Transactional(readOnly = true)
     public RateCardDto getRateCard() {
         RateCardDto rateCard = new RateCardDto();
         
-        BigDecimal baseRate = dailyRateRepository.findByDate(LocalDate.now())
-                .map(DailyRate::getRate)
-                .orElse(BigDecimal.ZERO);
+        BigDecimal baseRate = findBaseRate(LocalDate.now()).orElse(BigDecimal.ZERO);
         rateCard.setBaseRate(baseRate);
 
         List<RateCardDto.VendorOffsetDto> vendorOffsets = vendorRepository.findAll().stream()
@@ -47,13 +67,116 @@ public class RateService {
         return rateCard;
     }
 
+    /**
+     * Saves today's base rate and every offset that differs from the one already in force on its effective date.
+     * Affected vendors and their existing entries are read with one query each, unchanged rows are skipped, and
+     * the writes go out as JDBC batches, so the transaction stays short even for a large card.
+     */
     @Transactional
-    public void saveRateCard(RateCardDto rateCard) {
-        setDailyRate(LocalDate.now(), rateCard.getBaseRate());
+    public RateCardSaveResultDto saveRateCard(RateCardDto rateCard) {
+        LocalDate today = LocalDate.now();
+
+        Optional<DailyRate> existingRate = dailyRateRepository.findByDate(today);
+        BigDecimal previousBaseRate = existingRate.map(DailyRate::getRate).orElse(null);
+        boolean baseRateChanged = rateCard.getBaseRate() != null
+                && (previousBaseRate == null || previousBaseRate.compareTo(rateCard.getBaseRate()) != 0);
+        if (baseRateChanged) {
+            DailyRate rateToSave = existingRate.orElseGet(() -> DailyRate.builder().date(today).build());
+            rateToSave.setRate(rateCard.getBaseRate());
+            dailyRateRepository.save(rateToSave);
+            rateCache.evictBaseRate(today);
+        }
 
-        for (RateCardDto.VendorOffsetDto vendorOffset : rateCard.getVendorOffsets()) {
-            setVendorOffset(vendorOffset.getVendorId(), vendorOffset.getOffset());
+        // Later rows for the same vendor win, as they did when each row was saved in turn
+        Map<Long, RateCardDto.VendorOffsetDto> requested = new LinkedHashMap<>();
+        if (rateCard.getVendorOffsets() != null) {
+            rateCard.getVendorOffsets().forEach(row -> requested.put(row.getVendorId(), row));
         }
+
+        Map<Long, Vendor> vendors = vendorRepository.findAllById(requested.keySet()).stream()
+                .collect(Collectors.toMap(Vendor::getId, Function.identity()));
+        List<Long> missing = requested.keySet().stream()
+                .filter(id -> !vendors.containsKey(id))
+                .collect(Collectors.toList());
+        if (!missing.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Vendor not found: " + missing);
+        }
+
+        List<RateCardSaveResultDto.OffsetChange> changes = new ArrayList<>();
+        for (RateCardDto.VendorOffsetDto row : requested.values()) {
+            Vendor vendor = vendors.get(row.getVendorId());
+            LocalDate effectiveDate = row.getEffectiveDate() != null ? row.getEffectiveDate() : today;
+            BigDecimal offset = row.getOffset() != null ? row.getOffset() : BigDecimal.ZERO;
+            BigDecimal previous = vendorOffsetIndex.find(vendor.getId(), effectiveDate)
+                    .orElse(vendor.getRateOffset() != null ? vendor.getRateOffset() : BigDecimal.ZERO);
+            if (previous.compareTo(offset) != 0) {
+                changes.add(RateCardSaveResultDto.OffsetChange.builder()
+                        .vendorId(vendor.getId())
+                        .vendorName(vendor.getName())
+                        .effectiveDate(effectiveDate)
+                        .previousOffset(previous)
+                        .offset(offset)
+                        .build());
+            }
+        }
+
+        if (!changes.isEmpty()) {
+            writeOffsetChanges(changes, today);
+        }
+
+        return RateCardSaveResultDto.builder()
+                .previousBaseRate(previousBaseRate)
+                .baseRate(rateCard.getBaseRate() != null ? rateCard.getBaseRate() : previousBaseRate)
+                .baseRateChanged(baseRateChanged)
+                .unchangedOffsets(requested.size() - changes.size())
+                .changedOffsets(changes)
+                .build();
+    }
+
+    /**
+     * Upserts the history entries and moves Vendor.rateOffset where the change governs today, as three JDBC
+     * batches; the vendors loaded by the caller are not touched, so there is no per-entity dirty checking.
+     */
+    private void writeOffsetChanges(List<RateCardSaveResultDto.OffsetChange> changes, LocalDate today) {
+        Map<Map.Entry<Long, LocalDate>, Long> existingEntryIds = vendorRateOffsetRepository
+                .findIdsByVendorIdInAndEffectiveDateIn(
+                        changes.stream().map(RateCardSaveResultDto.OffsetChange::getVendorId).collect(Collectors.toSet()),
+                        changes.stream().map(RateCardSaveResultDto.OffsetChange::getEffectiveDate).collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(row -> Map.entry((Long) row[1], (LocalDate) row[2]), row -> (Long) row[0]));
+
+        List<Object[]> entryUpdates = new ArrayList<>();
+        List<Object[]> entryInserts = new ArrayList<>();
+        List<Object[]> vendorUpdates = new ArrayList<>();
+        for (RateCardSaveResultDto.OffsetChange change : changes) {
+            Long vendorId = change.getVendorId();
+            LocalDate effectiveDate = change.getEffectiveDate();
+
+            Long entryId = existingEntryIds.get(Map.entry(vendorId, effectiveDate));
+            if (entryId != null) {
+                entryUpdates.add(new Object[]{change.getOffset(), entryId});
+            } else {
+                entryInserts.add(new Object[]{vendorId, effectiveDate, change.getOffset()});
+            }
+
+            // Vendor.rateOffset only moves if no later entry already governs today
+            boolean governsToday = !effectiveDate.isAfter(today) && vendorOffsetIndex
+                    .findEffectiveDate(vendorId, today)
+                    .map(inForce -> !inForce.isAfter(effectiveDate))
+                    .orElse(true);
+            if (governsToday) {
+                vendorUpdates.add(new Object[]{change.getOffset(), vendorId});
+            }
+
+            vendorOffsetIndex.put(vendorId, effectiveDate, change.getOffset());
+            rateCache.evictVendorOffset(vendorId);
+        }
+
+        jdbcTemplate.batchUpdate("UPDATE vendor_rate_offset SET offset_value = ? WHERE id = ?", entryUpdates);
+        // Draws ids from the same pooled sequence Hibernate uses; each nextval is the top of its own block
+        jdbcTemplate.batchUpdate("INSERT INTO vendor_rate_offset (id, vendor_id, effective_date, offset_value) " +
+                "VALUES (nextval('vendor_rate_offset_seq'), ?, ?, ?)", entryInserts);
+        jdbcTemplate.batchUpdate("UPDATE vendor SET rate_offset = ? WHERE id = ?", vendorUpdates);
     }
 
     @Transactional
@@ -64,27 +187,154 @@ public class RateService {
                     return existingRate;
                 })
                 .orElseGet(() -> DailyRate.builder().date(date).rate(rate).build());
-        return dailyRateRepository.save(rateToSave);
+        DailyRate saved = dailyRateRepository.save(rateToSave);
+        rateCache.evictBaseRate(date);
+        return saved;
     }
 
     @Transactional
     public Vendor setVendorOffset(Long vendorId, BigDecimal offset) {
+        return setVendorOffset(vendorId, offset, LocalDate.now());
+    }
+
+    /**
+     * Records {@code offset} as in force from {@code effectiveDate} until the vendor's next entry. Earlier days
+     * keep the offset that applied then; {@link Vendor#getRateOffset()} tracks the offset in force today.
+     */
+    @Transactional
+    public Vendor setVendorOffset(Long vendorId, BigDecimal offset, LocalDate effectiveDate) {
         Vendor vendor = vendorRepository.findById(vendorId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Vendor not found: " + vendorId));
-        vendor.setRateOffset(offset);
-        return vendorRepository.save(vendor);
+
+        VendorRateOffset entry = vendorRateOffsetRepository.findByVendorIdAndEffectiveDate(vendorId, effectiveDate)
+                .orElseGet(() -> VendorRateOffset.builder().vendor(vendor).effectiveDate(effectiveDate).build());
+        entry.setOffsetValue(offset);
+        vendorRateOffsetRepository.save(entry);
+        vendorOffsetIndex.put(vendorId, effectiveDate, offset);
+
+        vendor.setRateOffset(vendorRateOffsetRepository
+                .findTopByVendorIdAndEffectiveDateLessThanEqualOrderByEffectiveDateDesc(vendorId, LocalDate.now())
+                .map(VendorRateOffset::getOffsetValue)
+                .orElse(vendor.getRateOffset()));
+        Vendor saved = vendorRepository.save(vendor);
+        rateCache.evictVendorOffset(vendorId);
+        return saved;
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * Base rate for {@code date} plus the vendor offset that was in force on that date. Both come from memory
+     * once loaded: the base rate from {@link RateCache}, the offset from {@link VendorOffsetIndex}.
+     */
     public BigDecimal getEffectiveRate(Long vendorId, LocalDate date) {
-        DailyRate dailyRate = dailyRateRepository.findByDate(date)
+        BigDecimal baseRate = getBaseRate(date);
+
+        BigDecimal offset = vendorOffsetIndex.find(vendorId, date).orElseGet(() -> {
+            // No history that far back: fall back to the vendor's current offset, as before versioning
+            BigDecimal current = rateCache.getVendorOffset(vendorId, id -> vendorRepository.findById(id)
+                    .map(vendor -> vendor.getRateOffset() != null ? vendor.getRateOffset() : BigDecimal.ZERO)
+                    .orElse(null));
+            if (current == null) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Vendor not found: " + vendorId);
+            }
+            return current;
+        });
+
+        return baseRate.add(offset);
+    }
+
+    public BigDecimal getBaseRate(LocalDate date) {
+        return findBaseRate(date)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "No base rate set for date: " + date));
+    }
 
-        Vendor vendor = vendorRepository.findById(vendorId)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Vendor not found: " + vendorId));
-        
-        BigDecimal baseRate = dailyRate.getRate();
-        BigDecimal offset = vendor.getRateOffset() != null ? vendor.getRateOffset() : BigDecimal.ZERO;
+    private Optional<BigDecimal> findBaseRate(LocalDate date) {
+        return Optional.ofNullable(rateCache.getBaseRate(date, d -> dailyRateRepository.findByDate(d)
+                .map(DailyRate::getRate)
+                .orElse(null)));
+    }
+
+    /**
+     * Applies the vendor's offset in force on {@code date} to an already resolved base rate, for callers pricing
+     * many vendors on one day.
+     */
+    public BigDecimal getEffectiveRate(Vendor vendor, LocalDate date, BigDecimal baseRate) {
+        BigDecimal offset = vendorOffsetIndex.find(vendor.getId(), date)
+                .orElse(vendor.getRateOffset() != null ? vendor.getRateOffset() : BigDecimal.ZERO);
         return baseRate.add(offset);
     }
+
+    /**
+     * Rate history between two dates downsampled in SQL to at most {@code maxPoints} buckets: the finest of
+     * day, week, month, quarter or year that fits (years if nothing does). Cost depends on the range, not on how much history exists.
+     */
+    @Transactional(readOnly = true)
+    public RateHistoryDto getRateHistory(LocalDate startDate, LocalDate endDate, int maxPoints) {
+        if (endDate.isBefore(startDate)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "endDate must not be before startDate");
+        }
+
+        HistoryBucket bucket = Arrays.stream(HistoryBucket.values())
+                .filter(candidate -> candidate.count(startDate, endDate) <= maxPoints)
+                .findFirst()
+                .orElse(HistoryBucket.YEAR);
+
+        List<HistoricalRateDto> points = dailyRateRepository
+                .getRateHistoryBuckets(bucket.name().toLowerCase(), startDate, endDate).stream()
+                .map(row -> HistoricalRateDto.builder()
+                        .date(toLocalDate(row[0]))
+                        .rate(toRate(row[1]))
+                        .minRate(toRate(row[2]))
+                        .maxRate(toRate(row[3]))
+                        .samples(((Number) row[4]).longValue())
+                        .build())
+                .collect(Collectors.toList());
+
+        return RateHistoryDto.builder()
+                .startDate(startDate)
+                .endDate(endDate)
+                .bucket(bucket.name())
+                .points(points)
+                .build();
+    }
+
+    /**
+     * History bucket sizes, finest first; the lower-cased name is the date_trunc field.
+     * Buckets are aligned to calendar boundaries, so a partial bucket at each end counts as a whole one.
+     */
+    private enum HistoryBucket {
+        DAY, WEEK, MONTH, QUARTER, YEAR;
+
+        long count(LocalDate startDate, LocalDate endDate) {
+            long months = ChronoUnit.MONTHS.between(startDate.withDayOfMonth(1), endDate.withDayOfMonth(1));
+            return switch (this) {
+                case DAY -> ChronoUnit.DAYS.between(startDate, endDate) + 1;
+                case WEEK -> ChronoUnit.DAYS.between(startDate, endDate) / 7 + 2;
+                case MONTH -> months + 1;
+                case QUARTER -> months / 3 + 2;
+                case YEAR -> endDate.getYear() - startDate.getYear() + 1;
+            };
+        }
+    }
+
+    // date_trunc returns a timestamp whose Java type depends on the driver
+    private static LocalDate toLocalDate(Object value) {
+        if (value instanceof java.sql.Timestamp timestamp) {
+            return timestamp.toLocalDateTime().toLocalDate();
+        }
+        if (value instanceof java.sql.Date date) {
+            return date.toLocalDate();
+        }
+        if (value instanceof LocalDateTime dateTime) {
+            return dateTime.toLocalDate();
+        }
+        if (value instanceof java.time.OffsetDateTime dateTime) {
+            return dateTime.toLocalDate();
+        }
+        return (LocalDate) value;
+    }
+
+    private static BigDecimal toRate(Object value) {
+        BigDecimal rate = value instanceof BigDecimal decimal ? decimal : new BigDecimal(value.toString());
+        return rate.setScale(2, RoundingMode.HALF_UP);
+    }
 }
@@ -2,16 +2,23 @@ package com.example.broiler.service;
 
 import com.example.broiler.domain.*;
 import com.example.broiler.repository.*;
+import com.example.broiler.web.dto.BulkReconciliationResultDto;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -21,6 +28,8 @@ public class ReconciliationService {
     private final DailySummaryRepository dailySummaryRepository;
     private final VendorRepository vendorRepository;
     private final RateService rateService;
+    private final LedgerProjectionService ledgerProjectionService;
+    private final JdbcTemplate jdbcTemplate;
 
     @Transactional
     public DailySummary calculateAndSaveDailySummary(Long vendorId, LocalDate date) {
@@ -36,6 +45,81 @@ public class ReconciliationService {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "No orders found for this vendor on the specified date.");
         }
 
+        DailySummary summary = buildSummary(vendor, date, orders, rateService.getEffectiveRate(vendorId, date));
+
+        DailySummary saved = dailySummaryRepository.save(summary);
+        ledgerProjectionService.appendInvoice(saved);
+        return saved;
+    }
+
+    /**
+     * Closes the day for every vendor with orders on {@code date} in one pass: one order query, one base-rate
+     * lookup and one batched insert. Vendors that already have a summary are skipped, so re-running is safe.
+     */
+    @Transactional
+    public BulkReconciliationResultDto reconcileDay(LocalDate date) {
+        Map<Vendor, List<Order>> ordersByVendor = orderRepository.findByOrderDateWithVendor(date).stream()
+                .collect(Collectors.groupingBy(Order::getVendor, LinkedHashMap::new, Collectors.toList()));
+
+        Map<Long, DailySummary> existing = dailySummaryRepository.findBySummaryDate(date).stream()
+                .collect(Collectors.toMap(summary -> summary.getVendor().getId(), Function.identity()));
+
+        BigDecimal baseRate = ordersByVendor.isEmpty() ? null : rateService.getBaseRate(date);
+
+        List<BulkReconciliationResultDto.VendorResult> results = new ArrayList<>();
+        List<DailySummary> toInsert = new ArrayList<>();
+        int skipped = 0;
+        for (Map.Entry<Vendor, List<Order>> entry : ordersByVendor.entrySet()) {
+            Vendor vendor = entry.getKey();
+            DailySummary existingSummary = existing.get(vendor.getId());
+            if (existingSummary != null) {
+                results.add(toResult(existingSummary, "SKIPPED"));
+                skipped++;
+                continue;
+            }
+            toInsert.add(buildSummary(vendor, date, entry.getValue(), rateService.getEffectiveRate(vendor, date, baseRate)));
+        }
+
+        // ON CONFLICT keeps a concurrent run (or per-vendor call) from failing the whole batch
+        int[] counts = jdbcTemplate.batchUpdate("INSERT INTO daily_summary (id, vendor_id, summary_date, total_weight, " +
+                        "applied_rate, calculated_amount, total_paid, due_amount, is_finalized) " +
+                        "VALUES (nextval('daily_summary_seq'), ?, ?, ?, ?, ?, ?, ?, ?) ON CONFLICT DO NOTHING",
+                toInsert.stream()
+                        .map(summary -> new Object[]{summary.getVendor().getId(), date, summary.getTotalWeight(),
+                                summary.getAppliedRate(), summary.getCalculatedAmount(), summary.getTotalPaid(),
+                                summary.getDueAmount(), false})
+                        .collect(Collectors.toList()));
+
+        Map<Long, DailySummary> saved = dailySummaryRepository.findBySummaryDate(date).stream()
+                .collect(Collectors.toMap(summary -> summary.getVendor().getId(), Function.identity()));
+
+        List<DailySummary> created = new ArrayList<>();
+        int conflicts = 0;
+        for (int i = 0; i < toInsert.size(); i++) {
+            DailySummary summary = saved.get(toInsert.get(i).getVendor().getId());
+            // 0 means ON CONFLICT skipped the row; a positive count or SUCCESS_NO_INFO means it went in
+            if (counts[i] == 0) {
+                conflicts++;
+                results.add(toResult(summary, "SKIPPED"));
+            } else {
+                created.add(summary);
+                results.add(toResult(summary, "CREATED"));
+            }
+        }
+
+        ledgerProjectionService.appendInvoices(date, created);
+
+        return BulkReconciliationResultDto.builder()
+                .date(date)
+                .baseRate(baseRate)
+                .created(created.size())
+                .skipped(skipped + conflicts)
+                .conflicts(conflicts)
+                .results(results)
+                .build();
+    }
+
+    private DailySummary buildSummary(Vendor vendor, LocalDate date, List<Order> orders, BigDecimal appliedRate) {
         BigDecimal totalWeight = orders.stream()
                 .map(Order::getWeight)
                 .filter(Objects::nonNull)
@@ -46,11 +130,10 @@ public class ReconciliationService {
                 .filter(Objects::nonNull)
                 .reduce(BigDecimal.ZERO, BigDecimal::add);
 
-        BigDecimal appliedRate = rateService.getEffectiveRate(vendorId, date);
         BigDecimal calculatedAmount = totalWeight.multiply(appliedRate);
         BigDecimal dueAmount = calculatedAmount.subtract(totalPaymentsOnDate);
 
-        DailySummary summary = DailySummary.builder()
+        return DailySummary.builder()
                 .vendor(vendor)
                 .summaryDate(date)
                 .totalWeight(totalWeight)
@@ -59,8 +142,17 @@ public class ReconciliationService {
                 .totalPaid(totalPaymentsOnDate)
                 .dueAmount(dueAmount)
                 .build();
+    }
 
-        return dailySummaryRepository.save(summary);
+    private static BulkReconciliationResultDto.VendorResult toResult(DailySummary summary, String status) {
+        return BulkReconciliationResultDto.VendorResult.builder()
+                .vendorId(summary.getVendor().getId())
+                .vendorName(summary.getVendor().getName())
+                .status(status)
+                .summaryId(summary.getId())
+                .appliedRate(summary.getAppliedRate())
+                .calculatedAmount(summary.getCalculatedAmount())
+                .build();
     }
 
     @Transactional(readOnly = true)
@@ -0,0 +1,279 @@
+package com.example.broiler.service;
+
+import com.example.broiler.domain.VendorLedger;
+import com.example.broiler.repository.VendorLedgerRepository;
+import com.example.broiler.repository.VendorRepository;
+import com.example.broiler.web.dto.NamedRefDto;
+import com.example.broiler.web.dto.StatementExportProgressDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Builds a month's ledger statement for every vendor and streams them as CSV entries of one ZIP archive.
+ * Statements are built on virtual threads, but at most {@code db-concurrency} hold a connection at once, and
+ * only a small window of finished statements waits to be written, so memory does not grow with the vendor count.
+ */
+@Service
+public class StatementExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StatementExportService.class);
+
+    // Finished jobs stay queryable for this long after they end
+    private static final long FINISHED_JOB_RETENTION_MINUTES = 60;
+
+    private final VendorRepository vendorRepository;
+    private final VendorLedgerRepository vendorLedgerRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Semaphore connectionPermits;
+    private final int window;
+
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+
+    public StatementExportService(VendorRepository vendorRepository,
+                                  VendorLedgerRepository vendorLedgerRepository,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${app.ledger.statement-export.db-concurrency:4}") int dbConcurrency) {
+        this.vendorRepository = vendorRepository;
+        this.vendorLedgerRepository = vendorLedgerRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        // Shared by all running exports so together they never take more than this many pool connections
+        this.connectionPermits = new Semaphore(dbConcurrency);
+        this.window = dbConcurrency * 2;
+    }
+
+    /**
+     * Registers an export of {@code month} so its id can be handed to the client before streaming starts.
+     */
+    public String createJob(YearMonth month) {
+        pruneFinishedJobs();
+        List<NamedRefDto> vendors = vendorRepository.findAllRefs();
+        Job job = new Job(UUID.randomUUID().toString(), month, vendors);
+        jobs.put(job.id, job);
+        return job.id;
+    }
+
+    public StatementExportProgressDto getProgress(String jobId) {
+        Job job = jobs.get(jobId);
+        if (job == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Export job not found");
+        }
+        return job.toProgress();
+    }
+
+    public List<StatementExportProgressDto> getJobs() {
+        return jobs.values().stream()
+                .sorted(Comparator.comparing((Job job) -> job.startedAt).reversed())
+                .map(Job::toProgress)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Writes the job's archive to {@code out}, one entry per vendor in id order. A vendor whose statement fails
+     * gets an error entry instead; a failure writing to {@code out} (e.g. the client went away) stops the job.
+     */
+    public void export(String jobId, OutputStream out) throws IOException {
+        Job job = jobs.get(jobId);
+        if (job == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Export job not found");
+        }
+
+        LocalDate startDate = job.month.atDay(1);
+        LocalDate endDate = job.month.atEndOfMonth();
+        String folder = "statements-" + job.month + "/";
+
+        Deque<Future<byte[]>> pending = new ArrayDeque<>(window);
+        Deque<NamedRefDto> pendingVendors = new ArrayDeque<>(window);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            try {
+                ZipOutputStream zip = new ZipOutputStream(out, StandardCharsets.UTF_8);
+                for (NamedRefDto vendor : job.vendors) {
+                    // Keep the window full, but write the oldest statement before starting more
+                    if (pending.size() >= window) {
+                        writeNext(job, folder, zip, pending, pendingVendors);
+                    }
+                    pending.add(executor.submit(() -> buildStatement(vendor, startDate, endDate)));
+                    pendingVendors.add(vendor);
+                }
+                while (!pending.isEmpty()) {
+                    writeNext(job, folder, zip, pending, pendingVendors);
+                }
+                zip.finish();
+                out.flush();
+                job.finish("COMPLETED", null);
+            } catch (IOException | RuntimeException e) {
+                pending.forEach(future -> future.cancel(true));
+                job.finish("FAILED", e.getMessage());
+                logger.warn("Statement export {} for {} failed: {}", job.id, job.month, e.getMessage());
+                throw e;
+            } catch (InterruptedException e) {
+                pending.forEach(future -> future.cancel(true));
+                job.finish("FAILED", "Interrupted");
+                Thread.currentThread().interrupt();
+                // Returning normally would end the response as if the archive were complete
+                throw new InterruptedIOException("Statement export " + job.id + " was interrupted");
+            }
+        }
+    }
+
+    private void writeNext(Job job, String folder, ZipOutputStream zip, Deque<Future<byte[]>> pending,
+                           Deque<NamedRefDto> pendingVendors) throws IOException, InterruptedException {
+        NamedRefDto vendor = pendingVendors.poll();
+        byte[] content;
+        String name = folder + vendor.getId() + "-" + slug(vendor.getName());
+        try {
+            content = pending.poll().get();
+            name += ".csv";
+            job.completed.incrementAndGet();
+        } catch (ExecutionException e) {
+            logger.warn("Statement for vendor {} in {} failed", vendor.getId(), job.month, e.getCause());
+            content = ("Statement could not be built: " + e.getCause().getMessage() + "\n")
+                    .getBytes(StandardCharsets.UTF_8);
+            name += "-ERROR.txt";
+            job.failed.incrementAndGet();
+        }
+        zip.putNextEntry(new ZipEntry(name));
+        zip.write(content);
+        zip.closeEntry();
+    }
+
+    /**
+     * One vendor's statement: opening balance, the month's entries in posting order, and closing balance.
+     */
+    private byte[] buildStatement(NamedRefDto vendor, LocalDate startDate, LocalDate endDate) throws InterruptedException {
+        StatementData data;
+        connectionPermits.acquire();
+        try {
+            data = readOnlyTransaction.execute(status -> new StatementData(
+                    vendorLedgerRepository
+                            .findFirstByVendorIdAndDateLessThanEqualOrderByDateDescSeqDesc(vendor.getId(), startDate.minusDays(1))
+                            .map(VendorLedger::getBalance)
+                            .orElse(BigDecimal.ZERO),
+                    vendorLedgerRepository.findForStatement(vendor.getId(), startDate, endDate)));
+        } finally {
+            connectionPermits.release();
+        }
+        BigDecimal openingBalance = data.openingBalance();
+        List<VendorLedger> entries = data.entries();
+
+        BigDecimal totalDebit = BigDecimal.ZERO;
+        BigDecimal totalCredit = BigDecimal.ZERO;
+        StringBuilder csv = new StringBuilder(256 + entries.size() * 96);
+        csv.append("Vendor,").append(csv(vendor.getName())).append('\n');
+        csv.append("Period,").append(startDate).append(',').append(endDate).append('\n');
+        csv.append("Opening balance,").append(openingBalance).append('\n');
+        csv.append("Date,Description,Debit,Credit,Balance,Type,Reference\n");
+        for (VendorLedger entry : entries) {
+            BigDecimal debit = entry.getDebit() != null ? entry.getDebit() : BigDecimal.ZERO;
+            BigDecimal credit = entry.getCredit() != null ? entry.getCredit() : BigDecimal.ZERO;
+            totalDebit = totalDebit.add(debit);
+            totalCredit = totalCredit.add(credit);
+            csv.append(entry.getDate()).append(',')
+                    .append(csv(entry.getDescription())).append(',')
+                    .append(debit).append(',')
+                    .append(credit).append(',')
+                    .append(entry.getBalance()).append(',')
+                    .append(csv(entry.getType())).append(',')
+                    .append(csv(entry.getReferenceId())).append('\n');
+        }
+        BigDecimal closingBalance = entries.isEmpty() ? openingBalance : entries.get(entries.size() - 1).getBalance();
+        csv.append("Total,,").append(totalDebit).append(',').append(totalCredit).append('\n');
+        csv.append("Closing balance,").append(closingBalance).append('\n');
+        return csv.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private void pruneFinishedJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(FINISHED_JOB_RETENTION_MINUTES);
+        jobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.isBefore(cutoff));
+    }
+
+    private static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.contains(",") || value.contains("\"") || value.contains("\n")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+
+    private static String slug(String name) {
+        String slug = name == null ? "" : name.toLowerCase().replaceAll("[^a-z0-9]+", "-").replaceAll("(^-|-$)", "");
+        return slug.isEmpty() ? "vendor" : slug;
+    }
+
+    private record StatementData(BigDecimal openingBalance, List<VendorLedger> entries) {
+    }
+
+    private static final class Job {
+        private final String id;
+        private final YearMonth month;
+        private final int totalVendors;
+        private volatile List<NamedRefDto> vendors; // Released when the job finishes
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final AtomicInteger completed = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+        private volatile String status = "RUNNING";
+        private volatile String error;
+        private volatile LocalDateTime finishedAt;
+
+        private Job(String id, YearMonth month, List<NamedRefDto> vendors) {
+            this.id = id;
+            this.month = month;
+            this.vendors = vendors;
+            this.totalVendors = vendors.size();
+        }
+
+        private void finish(String status, String error) {
+            this.error = error;
+            this.finishedAt = LocalDateTime.now();
+            this.status = status;
+            this.vendors = List.of();
+        }
+
+        private StatementExportProgressDto toProgress() {
+            return StatementExportProgressDto.builder()
+                    .jobId(id)
+                    .month(month)
+                    .status(status)
+                    .totalVendors(totalVendors)
+                    .completedVendors(completed.get())
+                    .failedVendors(failed.get())
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .error(error)
+                    .build();
+        }
+    }
+}
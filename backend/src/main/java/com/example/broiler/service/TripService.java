@@ -2,14 +2,18 @@ package com.example.broiler.service;
 
 import com.example.broiler.domain.*;
 import com.example.broiler.repository.*;
+import com.example.broiler.security.TripSecurityService;
 import com.example.broiler.web.dto.CreateTripRequest;
+import com.example.broiler.web.dto.TripDto;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -20,6 +24,12 @@ public class TripService {
     private final TripRepository tripRepository;
     private final DriverRepository driverRepository;
     private final OrderRepository orderRepository;
+    private final TripStatsService tripStatsService;
+    private final TripSecurityService tripSecurityService;
+    private final LiveUpdateService liveUpdateService;
+    private final TripSyncService tripSyncService;
+
+    private static final int RECENT_TRIP_COUNT = 10;
 
     @Transactional
     public Trip createTrip(CreateTripRequest dto) {
@@ -35,34 +45,34 @@ public class TripService {
                 .loadedWeight(dto.getLoadedWeight())
                 .stockWeight(dto.getLoadedWeight()) // Initially stock is full load
                 .build();
-        return tripRepository.save(trip);
-    }
-
-    @Transactional(readOnly = true)
-    public List<Trip> getTodaysTrips() {
-        return tripRepository.findByTripDate(LocalDate.now());
+        Trip saved = tripRepository.save(trip);
+        tripStatsService.recordTripCreated(saved.getTripDate());
+        liveUpdateService.tripChanged(LiveUpdateService.TRIP_CREATED, saved, null);
+        return saved;
     }
 
     @Transactional(readOnly = true)
-    public List<Trip> getTodaysTripsWithDetails() {
-        return tripRepository.findByTripDateWithOrdersAndVendors(LocalDate.now());
+    public List<TripDto> getTodaysTrips() {
+        return TripDto.fromRows(tripRepository.findRowsByTripDate(LocalDate.now()));
     }
 
     @Transactional(readOnly = true)
-    public List<Trip> getTodaysTripsForDriver(String username) {
-        return tripRepository.findByTripDateAndDriverUsername(LocalDate.now(), username);
+    public List<TripDto> getTodaysTripsForDriver(String username) {
+        return TripDto.fromRows(tripRepository.findRowsByTripDateAndDriverUsername(LocalDate.now(), username));
     }
 
     @Transactional(readOnly = true)
-    public Trip getTripDetails(Long tripId) {
-        return tripRepository.findByIdWithOrdersAndVendorsAndDriver(tripId)
-                .orElseThrow(() -> new ResponseStatusException(
-                        HttpStatus.NOT_FOUND, "Trip not found: " + tripId));
+    public TripDto getTripDetails(Long tripId) {
+        List<TripDto> trips = TripDto.fromRows(tripRepository.findRowsById(tripId));
+        if (trips.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Trip not found: " + tripId);
+        }
+        return trips.get(0);
     }
 
     @Transactional
     public Trip updateTrip(Long tripId, CreateTripRequest dto) {
-        Trip trip = getTripDetails(tripId);
+        Trip trip = findTripWithOrders(tripId);
 
         if (dto.getLoadedWeight() != null) {
             trip.setLoadedWeight(dto.getLoadedWeight());
@@ -78,15 +88,34 @@ public class TripService {
             trip.setRouteName(dto.getRouteName());
         }
 
-        // We generally don't update driver or date for active trips easily, but can be
-        // added if needed.
+        String previousDriver = null;
+        if (dto.getDriverId() != null && !dto.getDriverId().equals(trip.getDriver().getId())) {
+            Driver driver = driverRepository.findById(dto.getDriverId())
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND,
+                            "Driver not found with id: " + dto.getDriverId()));
+            previousDriver = trip.getDriver().getUsername();
+            tripSyncService.recordTripRemoved(trip.getDriver(), trip);
+            trip.setDriver(driver);
+            // Restamp the orders so the new driver's delta sync receives them along with the trip
+            Instant now = Instant.now();
+            trip.getOrders().forEach(order -> order.setUpdatedAt(now));
+            // The previous driver must lose access to this trip straight away
+            tripSecurityService.evictTripOwner(tripId);
+        }
+
+        // Trip date is not changed here; the daily stats rollup keys on it
 
-        return tripRepository.save(trip);
+        Trip saved = tripRepository.save(trip);
+        liveUpdateService.tripChanged(LiveUpdateService.TRIP_UPDATED, saved, previousDriver);
+        return saved;
     }
 
     @Transactional
     public Trip closeTrip(Long tripId) {
-        Trip t = getTripDetails(tripId);
+        Trip t = findTripWithOrders(tripId);
+        if (!"COMPLETED".equals(t.getStatus())) {
+            tripStatsService.recordTripCompleted(t.getTripDate());
+        }
         t.setStatus("COMPLETED");
 
         if (t.getOrders() != null) {
@@ -111,7 +140,9 @@ public class TripService {
             t.setStockWeight(t.getLoadedWeight().subtract(totalDeliveredWeight));
         }
 
-        return tripRepository.save(t);
+        Trip saved = tripRepository.save(t);
+        liveUpdateService.tripChanged(LiveUpdateService.TRIP_CLOSED, saved, null);
+        return saved;
     }
 
     @Transactional(readOnly = true)
@@ -120,7 +151,14 @@ public class TripService {
     }
 
     @Transactional(readOnly = true)
-    public List<Trip> getRecentTrips() {
-        return tripRepository.findTop10ByOrderByTripDateDescIdDesc();
+    public List<TripDto> getRecentTrips() {
+        List<Long> ids = tripRepository.findRecentIds(PageRequest.of(0, RECENT_TRIP_COUNT));
+        return ids.isEmpty() ? List.of() : TripDto.fromRows(tripRepository.findRowsByIds(ids));
+    }
+
+    private Trip findTripWithOrders(Long tripId) {
+        return tripRepository.findByIdWithOrdersAndVendorsAndDriver(tripId)
+                .orElseThrow(() -> new ResponseStatusException(
+                        HttpStatus.NOT_FOUND, "Trip not found: " + tripId));
     }
 }
@@ -0,0 +1,39 @@
+package com.example.broiler.service;
+
+import com.example.broiler.repository.DailyTripStatsRepository;
+import com.example.broiler.repository.TripRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+/**
+ * Derives the daily trip stats rollup at startup when it is empty but trips exist, as on a database that
+ * predates the rollup and never ran the V4 backfill. Without it, the first increments would create partial
+ * rows for days that already have trips. Once the rollup has rows, startup finds nothing to do.
+ */
+@Service
+@RequiredArgsConstructor
+public class TripStatsBackfillService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TripStatsBackfillService.class);
+
+    private final DailyTripStatsRepository dailyTripStatsRepository;
+    private final TripRepository tripRepository;
+    private final TripStatsService tripStatsService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        if (dailyTripStatsRepository.count() > 0 || tripRepository.count() == 0) {
+            return;
+        }
+        logger.info("Daily trip stats are empty; backfilling from existing trips");
+        try {
+            tripStatsService.rebuildAll();
+        } catch (RuntimeException e) {
+            logger.error("Daily trip stats backfill failed", e);
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.broiler.service;
+
+import com.example.broiler.domain.DailyTripStats;
+import com.example.broiler.repository.DailyTripStatsRepository;
+import com.example.broiler.repository.TripRepository;
+import com.example.broiler.web.dto.DailyTripSummaryDto;
+import com.example.broiler.web.dto.TripStatsDriftDto;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains the {@link DailyTripStats} rollup. Trip and assignment writes call the {@code record*} methods
+ * inside their own transaction, so the rollup commits or rolls back with the change it describes.
+ */
+@Service
+@RequiredArgsConstructor
+public class TripStatsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TripStatsService.class);
+
+    private final DailyTripStatsRepository dailyTripStatsRepository;
+    private final TripRepository tripRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.reports.trip-stats-verify-window-days:30}")
+    private int verifyWindowDays;
+
+    private volatile List<TripStatsDriftDto> lastReport = List.of();
+
+    @Transactional
+    public void recordTripCreated(LocalDate date) {
+        apply(date, 1, 0, 0, 0);
+    }
+
+    @Transactional
+    public void recordTripCompleted(LocalDate date) {
+        apply(date, 0, 1, 0, 0);
+    }
+
+    @Transactional
+    public void recordOrdersAssigned(LocalDate date, int orders, long units) {
+        apply(date, 0, 0, orders, units);
+    }
+
+    @Transactional
+    public void recordOrdersUnassigned(LocalDate date, int orders, long units) {
+        apply(date, 0, 0, -orders, -units);
+    }
+
+    /**
+     * Replaces the rollup rows in a date range with freshly aggregated ones. Writers touching a rebuilt day
+     * block on its row until the rebuild commits, so their increments land on top of the new figures.
+     */
+    @Transactional
+    public int rebuild(LocalDate startDate, LocalDate endDate) {
+        dailyTripStatsRepository.deleteByStatDateBetween(startDate, endDate);
+        return insertAll(tripRepository.summarizeByTripDateBetween(startDate, endDate));
+    }
+
+    @Transactional
+    public int rebuildAll() {
+        dailyTripStatsRepository.deleteAllRows();
+        int days = insertAll(tripRepository.summarizeAll());
+        logger.info("Rebuilt daily trip stats for {} day(s).", days);
+        return days;
+    }
+
+    @Scheduled(fixedDelayString = "${app.reports.trip-stats-verify-interval-ms:3600000}",
+            initialDelayString = "${app.reports.trip-stats-verify-initial-delay-ms:90000}")
+    public void scheduledVerify() {
+        LocalDate today = LocalDate.now();
+        verify(today.minusDays(verifyWindowDays), today.plusDays(verifyWindowDays));
+    }
+
+    /**
+     * Compares rollup rows against live aggregates for a date range and returns every day that differs.
+     * Runs under repeatable read so both sides come from the same snapshot.
+     */
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public List<TripStatsDriftDto> verify(LocalDate startDate, LocalDate endDate) {
+        Map<LocalDate, DailyTripSummaryDto> rollup = dailyTripStatsRepository
+                .findByStatDateBetweenOrderByStatDate(startDate, endDate).stream()
+                .map(DailyTripSummaryDto::from)
+                .collect(Collectors.toMap(DailyTripSummaryDto::getDate, Function.identity()));
+        Map<LocalDate, DailyTripSummaryDto> live = tripRepository.summarizeByTripDateBetween(startDate, endDate).stream()
+                .collect(Collectors.toMap(DailyTripSummaryDto::getDate, Function.identity()));
+
+        List<TripStatsDriftDto> drifts = new ArrayList<>();
+        for (LocalDate date : startDate.datesUntil(endDate.plusDays(1)).toList()) {
+            DailyTripSummaryDto rolledUp = rollup.getOrDefault(date, DailyTripSummaryDto.empty(date));
+            DailyTripSummaryDto aggregated = live.getOrDefault(date, DailyTripSummaryDto.empty(date));
+            if (!rolledUp.equals(aggregated)) {
+                drifts.add(TripStatsDriftDto.builder()
+                        .date(date)
+                        .rollup(rolledUp)
+                        .live(aggregated)
+                        .build());
+            }
+        }
+
+        if (drifts.isEmpty()) {
+            logger.debug("Daily trip stats match live aggregates from {} to {}.", startDate, endDate);
+        } else {
+            logger.warn("Daily trip stats drift on {} day(s): {}", drifts.size(), drifts);
+        }
+        lastReport = List.copyOf(drifts);
+        return lastReport;
+    }
+
+    public List<TripStatsDriftDto> getLastReport() {
+        return lastReport;
+    }
+
+    private void apply(LocalDate date, int trips, int completedTrips, int orders, long units) {
+        if (date == null) {
+            return;
+        }
+        // Increment in place so concurrent writers never overwrite each other's counts
+        if (increment(date, trips, completedTrips, orders, units) == 0) {
+            // First write for the day; a concurrent first write makes this a no-op and the retry increments its row
+            jdbcTemplate.update("INSERT INTO daily_trip_stats (id, stat_date, total_trips, completed_trips, " +
+                    "total_orders, total_units) VALUES (nextval('daily_trip_stats_seq'), ?, 0, 0, 0, 0) " +
+                    "ON CONFLICT DO NOTHING", date);
+            increment(date, trips, completedTrips, orders, units);
+        }
+    }
+
+    private int increment(LocalDate date, int trips, int completedTrips, int orders, long units) {
+        return jdbcTemplate.update("UPDATE daily_trip_stats SET total_trips = total_trips + ?, " +
+                "completed_trips = completed_trips + ?, total_orders = total_orders + ?, " +
+                "total_units = total_units + ? WHERE stat_date = ?", trips, completedTrips, orders, units, date);
+    }
+
+    private int insertAll(List<DailyTripSummaryDto> days) {
+        jdbcTemplate.batchUpdate("INSERT INTO daily_trip_stats (id, stat_date, total_trips, completed_trips, " +
+                        "total_orders, total_units) VALUES (nextval('daily_trip_stats_seq'), ?, ?, ?, ?, ?)",
+                days.stream()
+                        .map(day -> new Object[]{day.getDate(), day.getTotalTrips(), day.getCompletedTrips(),
+                                day.getTotalOrders(), (long) day.getTotalUnits()})
+                        .collect(Collectors.toList()));
+        return days.size();
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.broiler.service;
+
+import com.example.broiler.domain.Driver;
+import com.example.broiler.domain.Order;
+import com.example.broiler.domain.SyncTombstone;
+import com.example.broiler.domain.Trip;
+import com.example.broiler.repository.SyncTombstoneRepository;
+import com.example.broiler.repository.TripRepository;
+import com.example.broiler.web.dto.OrderDto;
+import com.example.broiler.web.dto.TripDto;
+import com.example.broiler.web.dto.TripSyncDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Delta sync for the driver app. A sync token names the day and the moment of the previous sync; with it the
+ * app gets only the trips and orders whose {@code updatedAt} is later, plus tombstones for what left its view.
+ * Changes are read from a little before the token, because a row stamped before the previous sync may have
+ * committed after it; re-sending a few unchanged rows is harmless since the app merges by id.
+ * <p>
+ * A missing, malformed or expired token, or one from another day, gets the full day instead.
+ */
+@Service
+public class TripSyncService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TripSyncService.class);
+
+    private final TripRepository tripRepository;
+    private final SyncTombstoneRepository syncTombstoneRepository;
+    private final Duration overlap;
+    private final Duration retention;
+
+    public TripSyncService(TripRepository tripRepository,
+                           SyncTombstoneRepository syncTombstoneRepository,
+                           @Value("${app.sync.overlap:30s}") Duration overlap,
+                           @Value("${app.sync.tombstone-retention:2d}") Duration retention) {
+        this.tripRepository = tripRepository;
+        this.syncTombstoneRepository = syncTombstoneRepository;
+        this.overlap = overlap;
+        this.retention = retention;
+    }
+
+    @Transactional(readOnly = true)
+    public TripSyncDto syncForDriver(String username, String token) {
+        Instant now = Instant.now();
+        LocalDate today = LocalDate.now();
+        String nextToken = today + "." + now.toEpochMilli();
+
+        Instant previousSync = parseToken(token, today, now);
+        if (previousSync == null) {
+            return TripSyncDto.builder()
+                    .token(nextToken)
+                    .full(true)
+                    .trips(TripDto.fromRows(tripRepository.findRowsByTripDateAndDriverUsername(today, username)))
+                    .build();
+        }
+
+        Instant since = previousSync.minus(overlap);
+        List<TripDto> trips = TripDto.fromRows(tripRepository.findRowsChangedSince(today, username, since));
+
+        // Something removed and then given back within the window is current, not removed
+        Set<Long> tripIds = new HashSet<>();
+        Set<Long> orderIds = new HashSet<>();
+        for (TripDto trip : trips) {
+            tripIds.add(trip.getId());
+            trip.getOrders().stream().map(OrderDto::getId).forEach(orderIds::add);
+        }
+        Set<Long> removedTripIds = new HashSet<>();
+        Set<Long> removedOrderIds = new HashSet<>();
+        for (SyncTombstone tombstone : syncTombstoneRepository.findForDriverSince(username, since)) {
+            if (SyncTombstone.TRIP.equals(tombstone.getEntityType()) && !tripIds.contains(tombstone.getEntityId())) {
+                removedTripIds.add(tombstone.getEntityId());
+            } else if (SyncTombstone.ORDER.equals(tombstone.getEntityType()) && !orderIds.contains(tombstone.getEntityId())) {
+                removedOrderIds.add(tombstone.getEntityId());
+            }
+        }
+
+        return TripSyncDto.builder()
+                .token(nextToken)
+                .trips(trips)
+                .removedTripIds(new ArrayList<>(removedTripIds))
+                .removedOrderIds(new ArrayList<>(removedOrderIds))
+                .build();
+    }
+
+    /**
+     * {@code order} was taken off {@code trip}; called inside the unassigning transaction.
+     */
+    @Transactional
+    public void recordOrderRemoved(Trip trip, Order order) {
+        record(trip.getDriver(), SyncTombstone.ORDER, order.getId());
+    }
+
+    /**
+     * {@code trip} was taken from {@code previousDriver}; called inside the reassigning transaction.
+     */
+    @Transactional
+    public void recordTripRemoved(Driver previousDriver, Trip trip) {
+        record(previousDriver, SyncTombstone.TRIP, trip.getId());
+    }
+
+    /**
+     * Tombstones are only read for tokens younger than the retention, so older ones can go.
+     */
+    @Scheduled(fixedDelayString = "${app.sync.tombstone-purge-interval-ms:3600000}",
+            initialDelayString = "${app.sync.tombstone-purge-interval-ms:3600000}")
+    @Transactional
+    public void purgeTombstones() {
+        int purged = syncTombstoneRepository.deleteRemovedBefore(Instant.now().minus(retention).minus(overlap));
+        if (purged > 0) {
+            logger.info("Purged {} sync tombstones", purged);
+        }
+    }
+
+    private void record(Driver driver, String entityType, Long entityId) {
+        syncTombstoneRepository.save(SyncTombstone.builder()
+                .driver(driver)
+                .entityType(entityType)
+                .entityId(entityId)
+                .removedAt(Instant.now())
+                .build());
+    }
+
+    private Instant parseToken(String token, LocalDate today, Instant now) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        int dot = token.lastIndexOf('.');
+        try {
+            if (dot < 0 || !LocalDate.parse(token.substring(0, dot)).equals(today)) {
+                return null;
+            }
+            Instant previousSync = Instant.ofEpochMilli(Long.parseLong(token.substring(dot + 1)));
+            return previousSync.isBefore(now.minus(retention)) || previousSync.isAfter(now.plus(overlap)) ? null : previousSync;
+        } catch (DateTimeException | NumberFormatException e) {
+            return null;
+        }
+    }
+}
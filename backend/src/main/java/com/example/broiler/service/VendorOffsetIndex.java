@@ -0,0 +1,136 @@
+package com.example.broiler.service;
+
+import com.example.broiler.domain.VendorRateOffset;
+import com.example.broiler.repository.VendorRateOffsetRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory copy of every vendor's {@link VendorRateOffset} history, keyed by effective date, so resolving
+ * the offset in force on a given day is a floor lookup in a sorted map instead of a query. Loaded in one
+ * query on first use, updated after each committed write, and reloaded periodically to pick up writes made
+ * by other instances.
+ */
+@Component
+@RequiredArgsConstructor
+public class VendorOffsetIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(VendorOffsetIndex.class);
+
+    private final VendorRateOffsetRepository vendorRateOffsetRepository;
+
+    // A lock rather than synchronized: reload runs a query, and blocking inside a monitor pins a virtual thread's carrier
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    // Each vendor's map is immutable and replaced whole on write, so readers never see a half-applied change
+    private volatile Map<Long, NavigableMap<LocalDate, BigDecimal>> offsetsByVendor;
+
+    /**
+     * The offset in force for {@code vendorId} on {@code date}: the entry with the latest effective date on or
+     * before it. Empty when the vendor has no entry that early.
+     */
+    public Optional<BigDecimal> find(Long vendorId, LocalDate date) {
+        NavigableMap<LocalDate, BigDecimal> history = loaded().get(vendorId);
+        if (history == null) {
+            return Optional.empty();
+        }
+        Map.Entry<LocalDate, BigDecimal> entry = history.floorEntry(date);
+        return entry != null ? Optional.of(entry.getValue()) : Optional.empty();
+    }
+
+    /**
+     * Effective date of the entry in force for {@code vendorId} on {@code date}, if any.
+     */
+    public Optional<LocalDate> findEffectiveDate(Long vendorId, LocalDate date) {
+        NavigableMap<LocalDate, BigDecimal> history = loaded().get(vendorId);
+        return history != null ? Optional.ofNullable(history.floorKey(date)) : Optional.empty();
+    }
+
+    /**
+     * Applies a written offset once the surrounding transaction commits, or immediately outside one.
+     */
+    public void put(Long vendorId, LocalDate effectiveDate, BigDecimal offset) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(vendorId, effectiveDate, offset);
+                }
+            });
+        } else {
+            apply(vendorId, effectiveDate, offset);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.rates.offset-index-reload-ms:600000}",
+            initialDelayString = "${app.rates.offset-index-reload-ms:600000}")
+    public void reload() {
+        writeLock.lock();
+        try {
+            Map<Long, NavigableMap<LocalDate, BigDecimal>> byVendor = new HashMap<>();
+            int entries = 0;
+            for (VendorRateOffset row : vendorRateOffsetRepository.findAllForIndex()) {
+                byVendor.computeIfAbsent(row.getVendor().getId(), id -> new TreeMap<>())
+                        .put(row.getEffectiveDate(), offsetOf(row.getOffsetValue()));
+                entries++;
+            }
+
+            Map<Long, NavigableMap<LocalDate, BigDecimal>> index = new ConcurrentHashMap<>();
+            byVendor.forEach((vendorId, history) -> index.put(vendorId, Collections.unmodifiableNavigableMap(history)));
+            offsetsByVendor = index;
+            logger.debug("Loaded {} rate offset(s) for {} vendor(s).", entries, index.size());
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private Map<Long, NavigableMap<LocalDate, BigDecimal>> loaded() {
+        Map<Long, NavigableMap<LocalDate, BigDecimal>> index = offsetsByVendor;
+        if (index == null) {
+            writeLock.lock();
+            try {
+                if (offsetsByVendor == null) {
+                    reload();
+                }
+                index = offsetsByVendor;
+            } finally {
+                writeLock.unlock();
+            }
+        }
+        return index;
+    }
+
+    // Serialized with reload so a reload that read the table before this commit cannot drop the change
+    private void apply(Long vendorId, LocalDate effectiveDate, BigDecimal offset) {
+        writeLock.lock();
+        try {
+            loaded().compute(vendorId, (id, history) -> {
+                TreeMap<LocalDate, BigDecimal> updated = history != null ? new TreeMap<>(history) : new TreeMap<>();
+                updated.put(effectiveDate, offsetOf(offset));
+                return Collections.unmodifiableNavigableMap(updated);
+            });
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private static BigDecimal offsetOf(BigDecimal value) {
+        return value != null ? value : BigDecimal.ZERO;
+    }
+}
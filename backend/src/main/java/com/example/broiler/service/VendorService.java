@@ -4,6 +4,7 @@ import com.example.broiler.domain.Vendor;
 import com.example.broiler.repository.VendorRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -12,12 +13,16 @@ import java.util.List;
 public class VendorService {
 
     private final VendorRepository vendorRepository;
+    private final RateService rateService;
 
     public List<Vendor> findAll() {
         return vendorRepository.findAll();
     }
 
+    @Transactional
     public Vendor create(Vendor vendor) {
-        return vendorRepository.save(vendor);
+        Vendor saved = vendorRepository.save(vendor);
+        // Start the vendor's offset history so reconciliation of any date resolves without a fallback
+        return rateService.setVendorOffset(saved.getId(), saved.getRateOffset(), RateService.BASELINE_OFFSET_DATE);
     }
 }
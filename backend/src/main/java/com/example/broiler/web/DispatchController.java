@@ -1,17 +1,36 @@
 package com.example.broiler.web;
 
-import com.example.broiler.domain.Order;
+import com.example.broiler.service.DeliverySubmissionService;
 import com.example.broiler.service.DispatchService;
+import com.example.broiler.service.LiveUpdateService;
+import com.example.broiler.service.OrderImportService;
 import com.example.broiler.web.dto.AssignOrdersRequest;
+import com.example.broiler.web.dto.AssignOrdersResultDto;
 import com.example.broiler.web.dto.CreateOrderRequest;
+import com.example.broiler.web.dto.DeliveryBatchRequest;
+import com.example.broiler.web.dto.DeliveryBatchResultDto;
 import com.example.broiler.web.dto.DispatchDto;
+import com.example.broiler.web.dto.OrderDto;
+import com.example.broiler.web.dto.OrderImportSummaryDto;
+import com.example.broiler.web.dto.PendingOrdersPageDto;
 import com.example.broiler.web.dto.UpdateOrderDetailsRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 
 @RestController
@@ -19,7 +38,13 @@ import java.time.LocalDate;
 @RequiredArgsConstructor
 public class DispatchController {
 
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+
     private final DispatchService dispatchService;
+    private final OrderImportService orderImportService;
+    private final LiveUpdateService liveUpdateService;
+    private final DeliverySubmissionService deliverySubmissionService;
+    private final ObjectMapper objectMapper;
 
     @GetMapping
     public ResponseEntity<DispatchDto> getDispatchData(@RequestParam(value = "date", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
@@ -27,24 +52,86 @@ public class DispatchController {
         return ResponseEntity.ok(dispatchService.getDispatchData(queryDate));
     }
 
+    /**
+     * Server-sent events for every trip and order change, for the dispatch board to apply on top of one
+     * initial load. Reconnecting with Last-Event-ID resumes where the stream left off.
+     */
+    @GetMapping(value = "/live", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    public SseEmitter streamDispatchUpdates(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return liveUpdateService.subscribeDispatch(lastEventId);
+    }
+
+    @GetMapping("/pending-orders")
+    public ResponseEntity<PendingOrdersPageDto> getPendingOrders(
+            @RequestParam(value = "startDate", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(value = "endDate", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(value = "afterDate", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate afterDate,
+            @RequestParam(value = "afterId", required = false) Long afterId,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        return ResponseEntity.ok(dispatchService.getPendingOrders(startDate, endDate, afterDate, afterId, limit));
+    }
+
     @PostMapping("/orders")
-    public ResponseEntity<Order> createOrder(@Valid @RequestBody CreateOrderRequest request) {
-        return ResponseEntity.ok(dispatchService.createOrder(request));
+    public ResponseEntity<OrderDto> createOrder(@Valid @RequestBody CreateOrderRequest request) {
+        return ResponseEntity.ok(OrderDto.from(dispatchService.createOrder(request)));
     }
 
+    /**
+     * Bulk order intake from a CSV (vendorId,assignedUnits,orderDate) or NDJSON body. The response is NDJSON:
+     * one result line per input row as it is committed, followed by a summary line.
+     */
+    @PostMapping(value = "/orders/import", consumes = {"text/csv", "application/x-ndjson"}, produces = "application/x-ndjson")
+    public void importOrders(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        OrderImportService.Format format = MediaType.parseMediaType(request.getContentType()).isCompatibleWith(TEXT_CSV)
+                ? OrderImportService.Format.CSV
+                : OrderImportService.Format.NDJSON;
+
+        response.setContentType("application/x-ndjson");
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        Writer out = response.getWriter();
+
+        OrderImportSummaryDto summary = orderImportService.importOrders(request.getReader(), format, result -> {
+            try {
+                out.write(objectMapper.writeValueAsString(result));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        out.write(objectMapper.writeValueAsString(summary));
+        out.write('\n');
+        out.flush();
+    }
+
+    /**
+     * Always responds 200. Orders taken by someone else first are listed in the result's conflicts, and the
+     * orders that could be claimed stay assigned either way.
+     */
     @PostMapping("/assign-orders")
-    public ResponseEntity<Void> assignOrdersToTrip(@RequestBody AssignOrdersRequest request) {
-        dispatchService.assignOrdersToTrip(request.getTripId(), request.getOrderIds());
-        return ResponseEntity.ok().build();
+    public ResponseEntity<AssignOrdersResultDto> assignOrdersToTrip(@RequestBody AssignOrdersRequest request) {
+        return ResponseEntity.ok(dispatchService.assignOrdersToTrip(request.getTripId(), request.getOrderIds()));
     }
 
     @PutMapping("/orders/{orderId}")
-    public ResponseEntity<Order> updateOrderDetails(@PathVariable("orderId") Long orderId, @RequestBody UpdateOrderDetailsRequest request) {
-        return ResponseEntity.ok(dispatchService.updateOrderDetails(orderId, request));
+    public ResponseEntity<OrderDto> updateOrderDetails(@PathVariable("orderId") Long orderId, @RequestBody UpdateOrderDetailsRequest request) {
+        return ResponseEntity.ok(OrderDto.from(dispatchService.updateOrderDetails(orderId, request)));
+    }
+
+    /**
+     * Applies many order updates at once, typically deliveries a driver recorded while offline. Each entry
+     * carries an idempotency key, so the whole batch can be resent safely after a lost response.
+     */
+    @PostMapping("/orders/deliveries")
+    public ResponseEntity<DeliveryBatchResultDto> submitDeliveries(@Valid @RequestBody DeliveryBatchRequest request,
+                                                                   Authentication authentication) {
+        boolean admin = authentication.getAuthorities().stream()
+                .anyMatch(authority -> "ROLE_ADMIN".equals(authority.getAuthority()));
+        return ResponseEntity.ok(deliverySubmissionService.submit(authentication.getName(), admin, request.getDeliveries()));
     }
 
     @PutMapping("/orders/{orderId}/unassign")
-    public ResponseEntity<Order> unassignOrder(@PathVariable("orderId") Long orderId) {
-        return ResponseEntity.ok(dispatchService.unassignOrder(orderId));
+    public ResponseEntity<OrderDto> unassignOrder(@PathVariable("orderId") Long orderId) {
+        return ResponseEntity.ok(OrderDto.from(dispatchService.unassignOrder(orderId)));
     }
 }
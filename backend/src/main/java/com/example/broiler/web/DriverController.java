@@ -2,6 +2,7 @@ package com.example.broiler.web;
 
 import com.example.broiler.domain.Driver;
 import com.example.broiler.repository.DriverRepository;
+import com.example.broiler.web.dto.DriverDto;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -9,6 +10,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/drivers")
@@ -18,12 +20,14 @@ public class DriverController {
     private final DriverRepository driverRepository;
 
     @GetMapping
-    public ResponseEntity<List<Driver>> getAllDrivers() {
-        return ResponseEntity.ok(driverRepository.findAll());
+    public ResponseEntity<List<DriverDto>> getAllDrivers() {
+        return ResponseEntity.ok(driverRepository.findAll().stream()
+                .map(DriverDto::from)
+                .collect(Collectors.toList()));
     }
 
     @org.springframework.web.bind.annotation.PostMapping
-    public ResponseEntity<Driver> createDriver(@org.springframework.web.bind.annotation.RequestBody Driver driver) {
-        return ResponseEntity.ok(driverRepository.save(driver));
+    public ResponseEntity<DriverDto> createDriver(@org.springframework.web.bind.annotation.RequestBody Driver driver) {
+        return ResponseEntity.ok(DriverDto.from(driverRepository.save(driver)));
     }
 }
@@ -2,16 +2,25 @@ package com.example.broiler.web;
 
 import com.example.broiler.domain.DailySummary;
 import com.example.broiler.domain.VendorPayment;
+import com.example.broiler.service.BalanceVerificationService;
 import com.example.broiler.service.LedgerService;
+import com.example.broiler.service.StatementExportService;
+import com.example.broiler.web.dto.BalanceDriftDto;
 import com.example.broiler.web.dto.DailyOverviewDto;
 import com.example.broiler.web.dto.RecordPaymentRequest; // Import new DTO
+import com.example.broiler.web.dto.StatementExportProgressDto;
 import com.example.broiler.web.dto.VendorLedgerDto;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.time.LocalDate;
+import java.time.YearMonth;
 
 @RestController
 @RequestMapping("/api/ledger")
@@ -19,10 +28,58 @@ import java.time.LocalDate;
 public class LedgerController {
 
     private final LedgerService ledgerService;
+    private final BalanceVerificationService balanceVerificationService;
+    private final StatementExportService statementExportService;
 
     @GetMapping("/vendor/{vendorId}")
-    public ResponseEntity<VendorLedgerDto> getVendorLedger(@PathVariable("vendorId") Long vendorId) {
-        return ResponseEntity.ok(ledgerService.getVendorLedger(vendorId));
+    public ResponseEntity<VendorLedgerDto> getVendorLedger(
+            @PathVariable("vendorId") Long vendorId,
+            @RequestParam(value = "beforeDate", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate beforeDate,
+            @RequestParam(value = "beforeSeq", required = false) Long beforeSeq,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        return ResponseEntity.ok(ledgerService.getVendorLedger(vendorId, beforeDate, beforeSeq, limit));
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/vendor/{vendorId}/rebuild")
+    public ResponseEntity<Void> rebuildVendorLedger(@PathVariable("vendorId") Long vendorId) {
+        ledgerService.rebuildVendorLedger(vendorId);
+        return ResponseEntity.ok().build();
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/rebuild")
+    public ResponseEntity<Void> rebuildAllVendorLedgers() {
+        ledgerService.rebuildAllVendorLedgers();
+        return ResponseEntity.ok().build();
+    }
+
+    /**
+     * Streams a ZIP with one CSV statement per vendor for {@code month} (yyyy-MM). The X-Export-Job header
+     * carries the job id, so progress can be polled from {@code /statements/jobs/{jobId}} while the download runs.
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping(value = "/statements/export", produces = "application/zip")
+    public void exportStatements(
+            @RequestParam("month") @DateTimeFormat(pattern = "yyyy-MM") YearMonth month,
+            HttpServletResponse response) throws IOException {
+        String jobId = statementExportService.createJob(month);
+        response.setContentType("application/zip");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"statements-" + month + ".zip\"");
+        response.setHeader("X-Export-Job", jobId);
+        statementExportService.export(jobId, response.getOutputStream());
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/statements/jobs")
+    public ResponseEntity<java.util.List<StatementExportProgressDto>> getStatementExportJobs() {
+        return ResponseEntity.ok(statementExportService.getJobs());
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/statements/jobs/{jobId}")
+    public ResponseEntity<StatementExportProgressDto> getStatementExportProgress(@PathVariable("jobId") String jobId) {
+        return ResponseEntity.ok(statementExportService.getProgress(jobId));
     }
 
     @GetMapping("/vendors")
@@ -30,6 +87,14 @@ public class LedgerController {
         return ResponseEntity.ok(ledgerService.getVendorFinancialSummaries());
     }
 
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/balance-drift")
+    public ResponseEntity<java.util.List<BalanceDriftDto>> getBalanceDrift(
+            @RequestParam(value = "refresh", defaultValue = "false") boolean refresh) {
+        return ResponseEntity.ok(refresh ? balanceVerificationService.verifyBalances()
+                : balanceVerificationService.getLastReport());
+    }
+
     @GetMapping("/daily-overview")
     public ResponseEntity<DailyOverviewDto> getDailyOverview(
             @RequestParam(value = "date", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
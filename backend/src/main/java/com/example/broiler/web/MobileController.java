@@ -1,14 +1,21 @@
 package com.example.broiler.web;
 
-import com.example.broiler.domain.Trip;
+import com.example.broiler.service.LiveUpdateService;
 import com.example.broiler.service.TripService;
+import com.example.broiler.service.TripSyncService;
+import com.example.broiler.web.dto.TripDto;
+import com.example.broiler.web.dto.TripSyncDto;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -19,11 +26,33 @@ import java.util.List;
 public class MobileController {
 
     private final TripService tripService;
+    private final LiveUpdateService liveUpdateService;
+    private final TripSyncService tripSyncService;
 
     @GetMapping("/trips/today")
-    public ResponseEntity<List<Trip>> getTodaysTripsForMobile(Authentication authentication) {
+    public ResponseEntity<List<TripDto>> getTodaysTripsForMobile(Authentication authentication) {
         String username = authentication.getName();
-        List<Trip> trips = tripService.getTodaysTripsForDriver(username);
+        List<TripDto> trips = tripService.getTodaysTripsForDriver(username);
         return ResponseEntity.ok(trips);
     }
+
+    /**
+     * Changes to the caller's trips since the sync that returned {@code token}; without a usable token, the whole
+     * day. Pass the returned token to the next call.
+     */
+    @GetMapping("/trips/sync")
+    public ResponseEntity<TripSyncDto> syncTrips(Authentication authentication,
+                                                 @RequestParam(value = "token", required = false) String token) {
+        return ResponseEntity.ok(tripSyncService.syncForDriver(authentication.getName(), token));
+    }
+
+    /**
+     * Server-sent events for the caller's trips, replacing polling of /trips/today: load the day once, then
+     * apply events as they arrive. Reconnecting with Last-Event-ID resumes where the stream left off.
+     */
+    @GetMapping(value = "/live", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamTripUpdates(Authentication authentication,
+                                        @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return liveUpdateService.subscribeDriver(authentication.getName(), lastEventId);
+    }
 }
@@ -2,16 +2,32 @@ package com.example.broiler.web;
 
 import com.example.broiler.service.RateService;
 import com.example.broiler.web.dto.RateCardDto;
+import com.example.broiler.web.dto.RateCardSaveResultDto;
+import com.example.broiler.web.dto.RateHistoryDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
 
 @RestController
 @RequestMapping("/api/rates")
 @RequiredArgsConstructor
 public class RateController {
 
+    private static final int DEFAULT_HISTORY_POINTS = 120;
+    private static final int MAX_HISTORY_POINTS = 1000;
+
     private final RateService rateService;
+    private final ObjectMapper objectMapper;
 
     @GetMapping("/card")
     public ResponseEntity<RateCardDto> getRateCard() {
@@ -19,8 +35,36 @@ public class RateController {
     }
 
     @PostMapping("/card")
-    public ResponseEntity<Void> saveRateCard(@RequestBody RateCardDto rateCard) {
-        rateService.saveRateCard(rateCard);
-        return ResponseEntity.ok().build();
+    public ResponseEntity<RateCardSaveResultDto> saveRateCard(@RequestBody RateCardDto rateCard) {
+        return ResponseEntity.ok(rateService.saveRateCard(rateCard));
+    }
+
+    /**
+     * Rate history for a date range (default: the year up to today), downsampled to at most {@code points}
+     * buckets. Responses carry an ETag of their content, so a chart that polls gets a bodiless 304 until a rate changes.
+     */
+    @GetMapping({"/history", "/combined-history"})
+    public ResponseEntity<RateHistoryDto> getRateHistory(
+            @RequestParam(value = "startDate", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(value = "endDate", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(value = "points", defaultValue = "" + DEFAULT_HISTORY_POINTS) int points,
+            WebRequest request) throws JsonProcessingException {
+        if (points < 2 || points > MAX_HISTORY_POINTS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "points must be between 2 and " + MAX_HISTORY_POINTS);
+        }
+        LocalDate end = endDate != null ? endDate : LocalDate.now();
+        LocalDate start = startDate != null ? startDate : end.minusYears(1);
+
+        RateHistoryDto history = rateService.getRateHistory(start, end, points);
+
+        String etag = "\"" + DigestUtils.md5DigestAsHex(objectMapper.writeValueAsBytes(history)) + "\"";
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(history);
     }
 }
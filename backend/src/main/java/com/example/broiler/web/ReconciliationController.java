@@ -2,6 +2,7 @@ package com.example.broiler.web;
 
 import com.example.broiler.domain.DailySummary;
 import com.example.broiler.service.ReconciliationService;
+import com.example.broiler.web.dto.BulkReconciliationResultDto;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
@@ -24,6 +25,12 @@ public class ReconciliationController {
         return ResponseEntity.ok(summary);
     }
 
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkReconciliationResultDto> reconcileDay(
+            @RequestParam("date") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        return ResponseEntity.ok(reconciliationService.reconcileDay(date));
+    }
+
     @GetMapping("/exists")
     public ResponseEntity<Boolean> summaryExists(
             @RequestParam("vendorId") Long vendorId,
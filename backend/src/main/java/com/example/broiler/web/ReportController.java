@@ -1,11 +1,15 @@
 package com.example.broiler.web;
 
 import com.example.broiler.service.ReportService;
+import com.example.broiler.service.TripStatsService;
 import com.example.broiler.web.dto.DailyTripSummaryDto;
+import com.example.broiler.web.dto.TripStatsDriftDto;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
@@ -19,6 +23,7 @@ import java.util.List;
 public class ReportController {
 
     private final ReportService reportService;
+    private final TripStatsService tripStatsService;
 
     @GetMapping("/daily-trip-summaries")
     public ResponseEntity<List<DailyTripSummaryDto>> getDailyTripSummaries(
@@ -27,4 +32,28 @@ public class ReportController {
         List<DailyTripSummaryDto> summaries = reportService.getDailyTripSummaries(startDate, endDate);
         return ResponseEntity.ok(summaries);
     }
+
+    /**
+     * Rebuilds the daily trip stats rollup for a date range, or for all history when no range is given.
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/trip-stats/rebuild")
+    public ResponseEntity<Integer> rebuildTripStats(
+            @RequestParam(value = "startDate", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(value = "endDate", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        int days = startDate != null && endDate != null
+                ? tripStatsService.rebuild(startDate, endDate)
+                : tripStatsService.rebuildAll();
+        return ResponseEntity.ok(days);
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/trip-stats/drift")
+    public ResponseEntity<List<TripStatsDriftDto>> getTripStatsDrift(
+            @RequestParam(value = "startDate", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(value = "endDate", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        return ResponseEntity.ok(startDate != null && endDate != null
+                ? tripStatsService.verify(startDate, endDate)
+                : tripStatsService.getLastReport());
+    }
 }
@@ -3,10 +3,12 @@ package com.example.broiler.web;
 import com.example.broiler.domain.Trip;
 import com.example.broiler.service.TripService;
 import com.example.broiler.web.dto.CreateTripRequest;
+import com.example.broiler.web.dto.TripDto;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.parameters.P;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -20,43 +22,43 @@ public class TripController {
 
     @PostMapping
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<Trip> createTrip(@RequestBody CreateTripRequest dto) {
+    public ResponseEntity<TripDto> createTrip(@RequestBody CreateTripRequest dto) {
         Trip createdTrip = tripService.createTrip(dto);
-        return ResponseEntity.ok(createdTrip);
+        return ResponseEntity.ok(TripDto.from(createdTrip));
     }
 
     @GetMapping("/today")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<Trip>> getTodaysTrips() {
-        List<Trip> trips = tripService.getTodaysTrips();
+    public ResponseEntity<List<TripDto>> getTodaysTrips() {
+        List<TripDto> trips = tripService.getTodaysTrips();
         return ResponseEntity.ok(trips);
     }
 
     @GetMapping("/recent")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<Trip>> getRecentTrips() {
-        List<Trip> trips = tripService.getRecentTrips();
+    public ResponseEntity<List<TripDto>> getRecentTrips() {
+        List<TripDto> trips = tripService.getRecentTrips();
         return ResponseEntity.ok(trips);
     }
 
     @GetMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN') or @tripSecurity.isDriverForTrip(authentication.name, #id)")
-    public ResponseEntity<Trip> getTripDetails(@PathVariable("id") Long id, Authentication authentication) {
-        Trip trip = tripService.getTripDetails(id);
+    public ResponseEntity<TripDto> getTripDetails(@P("id") @PathVariable("id") Long id, Authentication authentication) {
+        TripDto trip = tripService.getTripDetails(id);
         return ResponseEntity.ok(trip);
     }
 
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<Trip> updateTrip(@PathVariable("id") Long id, @RequestBody CreateTripRequest dto) {
+    public ResponseEntity<TripDto> updateTrip(@PathVariable("id") Long id, @RequestBody CreateTripRequest dto) {
         Trip updatedTrip = tripService.updateTrip(id, dto);
-        return ResponseEntity.ok(updatedTrip);
+        return ResponseEntity.ok(TripDto.from(updatedTrip));
     }
 
     @PutMapping("/{id}/close")
     @PreAuthorize("hasRole('ADMIN') or @tripSecurity.isDriverForTrip(authentication.name, #id)")
-    public ResponseEntity<Trip> closeTrip(@PathVariable("id") Long id, Authentication authentication) {
+    public ResponseEntity<TripDto> closeTrip(@P("id") @PathVariable("id") Long id, Authentication authentication) {
         Trip closedTrip = tripService.closeTrip(id);
-        return ResponseEntity.ok(closedTrip);
+        return ResponseEntity.ok(TripDto.from(closedTrip));
     }
 }
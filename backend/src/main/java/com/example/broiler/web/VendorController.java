@@ -5,10 +5,12 @@ import com.example.broiler.service.LedgerService;
 import com.example.broiler.service.VendorService;
 import com.example.broiler.web.dto.VendorLedgerDto;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -30,8 +32,11 @@ public class VendorController {
     }
 
     @GetMapping("/{vendorId}/ledger")
-    public ResponseEntity<VendorLedgerDto> getVendorLedger(@PathVariable("vendorId") Long vendorId) {
-        // Call the correct service
-        return ResponseEntity.ok(ledgerService.getVendorLedger(vendorId));
+    public ResponseEntity<VendorLedgerDto> getVendorLedger(
+            @PathVariable("vendorId") Long vendorId,
+            @RequestParam(value = "beforeDate", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate beforeDate,
+            @RequestParam(value = "beforeSeq", required = false) Long beforeSeq,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        return ResponseEntity.ok(ledgerService.getVendorLedger(vendorId, beforeDate, beforeSeq, limit));
     }
 }
@@ -0,0 +1,30 @@
+package com.example.broiler.web.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AssignOrdersResultDto {
+    private Long tripId;
+    private List<Long> assignedOrderIds; // Claimed by this request
+    private List<Long> unchangedOrderIds; // Already on this trip
+    private List<Conflict> conflicts; // Orders that could not be assigned; empty when all were
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Conflict {
+        private Long orderId;
+        private String reason; // "NOT_FOUND", "ASSIGNED_TO_OTHER_TRIP" or "NOT_PENDING"
+        private String status; // Current status of the order, when it exists
+        private Long tripId; // Trip the order is on now, if any
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.broiler.web.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BalanceDriftDto {
+    private Long vendorId;
+    private String vendorName;
+    private BigDecimal cachedBalance; // Vendor.currentBalance
+    private BigDecimal derivedBalance; // Re-derived from summaries and payments
+    private BigDecimal drift; // cachedBalance - derivedBalance
+}
@@ -0,0 +1,36 @@
+package com.example.broiler.web.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkReconciliationResultDto {
+    private LocalDate date;
+    private BigDecimal baseRate;
+    private int created;
+    private int skipped; // Vendors with orders on the date whose summary already existed, including conflicts
+    private int conflicts; // Of those, summaries another run created while this one was inserting
+    private List<VendorResult> results;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class VendorResult {
+        private Long vendorId;
+        private String vendorName;
+        private String status; // "CREATED" or "SKIPPED" (summary already existed, or was created concurrently)
+        private Long summaryId;
+        private BigDecimal appliedRate;
+        private BigDecimal calculatedAmount;
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.broiler.web.dto;
 
+import com.example.broiler.domain.DailyTripStats;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 
@@ -12,4 +13,21 @@ public class DailyTripSummaryDto {
     private int totalTrips;
     private int totalOrders;
     private double totalUnits;
+    private int completedTrips;
+
+    /**
+     * Used by the GROUP BY queries in TripRepository, where counts and sums come back as longs.
+     */
+    public DailyTripSummaryDto(LocalDate date, Long totalTrips, Long totalOrders, Long totalUnits, Long completedTrips) {
+        this(date, totalTrips.intValue(), totalOrders.intValue(), totalUnits.doubleValue(), completedTrips.intValue());
+    }
+
+    public static DailyTripSummaryDto from(DailyTripStats stats) {
+        return new DailyTripSummaryDto(stats.getStatDate(), stats.getTotalTrips(), stats.getTotalOrders(),
+                stats.getTotalUnits(), stats.getCompletedTrips());
+    }
+
+    public static DailyTripSummaryDto empty(LocalDate date) {
+        return new DailyTripSummaryDto(date, 0, 0, 0, 0);
+    }
 }
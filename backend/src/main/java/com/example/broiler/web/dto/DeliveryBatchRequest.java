@@ -0,0 +1,34 @@
+package com.example.broiler.web.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class DeliveryBatchRequest {
+    @NotEmpty(message = "Deliveries list cannot be empty")
+    @Valid
+    private List<Entry> deliveries;
+
+    /**
+     * One recorded delivery. The idempotency key is generated by the device when the delivery is recorded and
+     * sent unchanged on every retry, so a replayed entry is recognised and not applied twice.
+     */
+    @Data
+    public static class Entry {
+        @NotBlank(message = "Idempotency key is required")
+        @Size(max = 100)
+        private String idempotencyKey;
+
+        @NotNull(message = "Order ID is required")
+        private Long orderId;
+
+        @NotNull(message = "Order details are required")
+        private UpdateOrderDetailsRequest details;
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.broiler.web.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DeliveryBatchResultDto {
+    private int applied;
+    private int duplicates;
+    private int failed;
+    private List<EntryResult> results; // In request order
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class EntryResult {
+        private String idempotencyKey;
+        private Long orderId;
+        private String status; // "APPLIED", "DUPLICATE" (key seen before; not applied again), "NOT_FOUND" (admins only) or "FORBIDDEN" (missing or not on the caller's trips)
+        private OrderDto order; // Current state of the order, when it exists and the caller may see it
+    }
+}
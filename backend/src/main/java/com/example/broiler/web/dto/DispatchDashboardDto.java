@@ -1,7 +1,5 @@
 package com.example.broiler.web.dto;
 
-import com.example.broiler.domain.Order;
-import com.example.broiler.domain.Trip;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 
@@ -10,6 +8,6 @@ import java.util.List;
 @Data
 @AllArgsConstructor
 public class DispatchDashboardDto {
-    private List<Trip> plannedTrips;
-    private List<Order> pendingOrders;
+    private List<TripDto> plannedTrips;
+    private List<OrderDto> pendingOrders;
 }
\ No newline at end of file
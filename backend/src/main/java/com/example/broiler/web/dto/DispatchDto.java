@@ -1,14 +1,17 @@
 package com.example.broiler.web.dto;
 
-import com.example.broiler.domain.Order;
-import com.example.broiler.domain.Trip;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+
+import java.time.LocalDate;
 import java.util.List;
 
 @Data
 @AllArgsConstructor
 public class DispatchDto {
-    private List<Order> pendingOrders;
-    private List<Trip> plannedTrips;
+    private List<OrderDto> pendingOrders; // First page of the pending queue, oldest first
+    private List<TripDto> plannedTrips;
+    private long pendingTotalCount; // Pending orders up to the board date, not just this page
+    private LocalDate pendingNextAfterDate; // Cursor for /pending-orders; null when every pending order is on the board
+    private Long pendingNextAfterId;
 }
@@ -0,0 +1,21 @@
+package com.example.broiler.web.dto;
+
+import com.example.broiler.domain.Driver;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DriverDto {
+    private Long id;
+    private String name;
+    private String username;
+
+    public static DriverDto from(Driver driver) {
+        return new DriverDto(driver.getId(), driver.getName(), driver.getUsername());
+    }
+}
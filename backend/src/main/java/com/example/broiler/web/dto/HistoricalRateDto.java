@@ -1,13 +1,25 @@
 package com.example.broiler.web.dto;
 
 import lombok.AllArgsConstructor;
+import lombok.Builder;
 import lombok.Data;
+import lombok.NoArgsConstructor;
+
 import java.math.BigDecimal;
 import java.time.LocalDate;
 
+/**
+ * One point of the rate history chart. For daily buckets {@code rate} is that day's rate; for coarser
+ * buckets it is the average, with the extremes in {@code minRate} and {@code maxRate}.
+ */
 @Data
+@NoArgsConstructor
 @AllArgsConstructor
+@Builder
 public class HistoricalRateDto {
-    private LocalDate date;
+    private LocalDate date; // First day of the bucket
     private BigDecimal rate;
+    private BigDecimal minRate;
+    private BigDecimal maxRate;
+    private long samples; // Days with a recorded rate in the bucket
 }
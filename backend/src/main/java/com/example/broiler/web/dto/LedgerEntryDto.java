@@ -13,6 +13,8 @@ import java.time.LocalDate;
 @AllArgsConstructor
 @Builder
 public class LedgerEntryDto {
+    private Long entryId; // Ledger row ID
+    private Long seq; // Posting order within the vendor, used with date as the pagination cursor
     private LocalDate date;
     private String description;
     private BigDecimal debit; // Invoice Amount
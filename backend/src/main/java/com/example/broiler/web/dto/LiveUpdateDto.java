@@ -0,0 +1,28 @@
+package com.example.broiler.web.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * One change pushed over the live-update streams. {@code order} is set for order detail changes and
+ * {@code trip} (without its orders) for trip events; assignment events carry only the order ids.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class LiveUpdateDto {
+    private String type;
+    private Long tripId;
+    private LocalDate tripDate;
+    private List<Long> orderIds;
+    private OrderDto order;
+    private TripDto trip;
+}
@@ -0,0 +1,16 @@
+package com.example.broiler.web.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Id and display name of a related entity, e.g. an order's vendor or a trip's driver.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NamedRefDto {
+    private Long id;
+    private String name;
+}
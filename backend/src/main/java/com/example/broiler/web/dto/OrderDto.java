@@ -0,0 +1,43 @@
+package com.example.broiler.web.dto;
+
+import com.example.broiler.domain.Order;
+import com.example.broiler.domain.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderDto {
+    private Long id;
+    private NamedRefDto vendor;
+    private LocalDate orderDate;
+    private Integer assignedUnits;
+    private Integer deliveredUnits;
+    private BigDecimal weight;
+    private BigDecimal paymentAmount;
+    private OrderStatus status;
+    private Long tripId;
+
+    /**
+     * Used by the pending-order queries in OrderRepository, which select these columns directly.
+     */
+    public OrderDto(Long id, Long vendorId, String vendorName, LocalDate orderDate, Integer assignedUnits,
+                    Integer deliveredUnits, BigDecimal weight, BigDecimal paymentAmount, OrderStatus status,
+                    Long tripId) {
+        this(id, new NamedRefDto(vendorId, vendorName), orderDate, assignedUnits, deliveredUnits, weight,
+                paymentAmount, status, tripId);
+    }
+
+    public static OrderDto from(Order order) {
+        return new OrderDto(order.getId(), order.getVendor().getId(), order.getVendor().getName(),
+                order.getOrderDate(), order.getAssignedUnits(), order.getDeliveredUnits(), order.getWeight(),
+                order.getPaymentAmount(), order.getStatus(), order.getTrip() != null ? order.getTrip().getId() : null);
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.broiler.web.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderImportResultDto {
+    private long row; // 1-based line number in the uploaded file
+    private String status; // "CREATED" or "FAILED"
+    private Long orderId;
+    private String error;
+}
@@ -0,0 +1,16 @@
+package com.example.broiler.web.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class PendingOrdersPageDto {
+    private List<OrderDto> orders;
+    private long totalCount; // Pending orders in the whole date range, not just this page
+    private LocalDate nextAfterDate; // Cursor for the next page; null when this is the last page
+    private Long nextAfterId;
+}
@@ -2,6 +2,7 @@ package com.example.broiler.web.dto;
 
 import lombok.Data;
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 
 @Data
@@ -22,6 +23,7 @@ public class RateCardDto {
         private Long vendorId;
         private String vendorName;
         private BigDecimal offset;
+        private LocalDate effectiveDate; // Optional on save; defaults to today
 
         public Long getVendorId() {
             return vendorId;
@@ -0,0 +1,34 @@
+package com.example.broiler.web.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RateCardSaveResultDto {
+    private BigDecimal previousBaseRate; // Null when no base rate was set for today
+    private BigDecimal baseRate;
+    private boolean baseRateChanged;
+    private int unchangedOffsets;
+    private List<OffsetChange> changedOffsets;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class OffsetChange {
+        private Long vendorId;
+        private String vendorName;
+        private LocalDate effectiveDate;
+        private BigDecimal previousOffset; // Offset that was in force on effectiveDate
+        private BigDecimal offset;
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.broiler.web.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RateHistoryDto {
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private String bucket; // DAY, WEEK, MONTH, QUARTER or YEAR
+    private List<HistoricalRateDto> points;
+}
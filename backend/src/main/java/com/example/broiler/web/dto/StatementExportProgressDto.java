@@ -0,0 +1,25 @@
+package com.example.broiler.web.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StatementExportProgressDto {
+    private String jobId;
+    private YearMonth month;
+    private String status; // RUNNING, COMPLETED or FAILED
+    private int totalVendors;
+    private int completedVendors; // Statements written to the archive so far
+    private int failedVendors; // Vendors whose statement could not be built; each gets an error entry instead
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String error;
+}
@@ -0,0 +1,57 @@
+package com.example.broiler.web.dto;
+
+import com.example.broiler.domain.Trip;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TripDto {
+    private Long id;
+    private LocalDate tripDate;
+    private String status;
+    private String routeName;
+    private BigDecimal loadedWeight;
+    private BigDecimal stockWeight;
+    private NamedRefDto driver;
+    private List<OrderDto> orders;
+
+    /**
+     * Folds joined trip/order rows back into trips, keeping the query's row order.
+     */
+    public static List<TripDto> fromRows(List<TripOrderRow> rows) {
+        Map<Long, TripDto> trips = new LinkedHashMap<>();
+        for (TripOrderRow row : rows) {
+            TripDto trip = trips.computeIfAbsent(row.getTripId(), id -> new TripDto(id, row.getTripDate(),
+                    row.getTripStatus(), row.getRouteName(), row.getLoadedWeight(), row.getStockWeight(),
+                    new NamedRefDto(row.getDriverId(), row.getDriverName()), new ArrayList<>()));
+            if (row.getOrderId() != null) {
+                trip.getOrders().add(new OrderDto(row.getOrderId(), row.getVendorId(), row.getVendorName(),
+                        row.getOrderDate(), row.getAssignedUnits(), row.getDeliveredUnits(), row.getWeight(),
+                        row.getPaymentAmount(), row.getOrderStatus(), row.getTripId()));
+            }
+        }
+        return new ArrayList<>(trips.values());
+    }
+
+    public static TripDto from(Trip trip) {
+        List<OrderDto> orders = trip.getOrders() == null ? new ArrayList<>() : trip.getOrders().stream()
+                .map(OrderDto::from)
+                .collect(Collectors.toList());
+        return new TripDto(trip.getId(), trip.getTripDate(), trip.getStatus(), trip.getRouteName(),
+                trip.getLoadedWeight(), trip.getStockWeight(),
+                new NamedRefDto(trip.getDriver().getId(), trip.getDriver().getName()), orders);
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.broiler.web.dto;
+
+import com.example.broiler.domain.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * One trip joined with one of its orders, as selected by the projection queries in TripRepository.
+ * The order columns are null for a trip without orders.
+ */
+@Data
+@AllArgsConstructor
+public class TripOrderRow {
+    private Long tripId;
+    private LocalDate tripDate;
+    private String tripStatus;
+    private String routeName;
+    private BigDecimal loadedWeight;
+    private BigDecimal stockWeight;
+    private Long driverId;
+    private String driverName;
+    private Long orderId;
+    private Long vendorId;
+    private String vendorName;
+    private LocalDate orderDate;
+    private Integer assignedUnits;
+    private Integer deliveredUnits;
+    private BigDecimal weight;
+    private BigDecimal paymentAmount;
+    private OrderStatus orderStatus;
+}
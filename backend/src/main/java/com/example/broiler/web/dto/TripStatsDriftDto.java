@@ -0,0 +1,18 @@
+package com.example.broiler.web.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TripStatsDriftDto {
+    private LocalDate date;
+    private DailyTripSummaryDto rollup; // Row in daily_trip_stats
+    private DailyTripSummaryDto live; // Aggregated from trips and orders
+}
@@ -0,0 +1,27 @@
+package com.example.broiler.web.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Answer to a driver app sync. With {@code full} set, {@code trips} is the driver's whole day and replaces what
+ * the device holds; otherwise each trip carries only its changed orders and is merged by id, and the removed
+ * ids are dropped. Empty lists are left out, so a sync with no changes is little more than the next token.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public class TripSyncDto {
+    private String token;
+    private boolean full;
+    private List<TripDto> trips;
+    private List<Long> removedTripIds;
+    private List<Long> removedOrderIds;
+}
@@ -17,4 +17,15 @@ public class VendorFinancialSummaryDto {
     private BigDecimal totalBilled;
     private BigDecimal totalPaid;
     private BigDecimal outstandingBalance;
+
+    /**
+     * Used by the aggregate query in VendorRepository; null sums mean the vendor has no rows yet.
+     */
+    public VendorFinancialSummaryDto(Long vendorId, String vendorName, BigDecimal totalBilled, BigDecimal totalPaid) {
+        this.vendorId = vendorId;
+        this.vendorName = vendorName;
+        this.totalBilled = totalBilled != null ? totalBilled : BigDecimal.ZERO;
+        this.totalPaid = totalPaid != null ? totalPaid : BigDecimal.ZERO;
+        this.outstandingBalance = this.totalBilled.subtract(this.totalPaid);
+    }
 }
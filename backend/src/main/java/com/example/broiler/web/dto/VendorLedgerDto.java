@@ -4,6 +4,7 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 
 @Data
@@ -14,5 +15,7 @@ public class VendorLedgerDto {
     private BigDecimal totalCalculatedAmount;
     private BigDecimal totalPaidAmount;
     private BigDecimal totalDueAmount;
-    private List<LedgerEntryDto> ledgerEntries;
+    private List<LedgerEntryDto> ledgerEntries; // Newest first, one page
+    private LocalDate nextBeforeDate; // Cursor for the next older page; null when this is the oldest
+    private Long nextBeforeSeq;
 }
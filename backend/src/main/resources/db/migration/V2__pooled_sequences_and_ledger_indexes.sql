@@ -0,0 +1,81 @@
+-- Move every table from IDENTITY ids to pooled sequences (allocationSize = 50) so Hibernate can batch
+-- inserts. Each sequence starts at MAX(id) + 50 (not yet called), so the first block Hibernate hands out
+-- begins right after the existing rows.
+
+CREATE SEQUENCE IF NOT EXISTS admin_seq INCREMENT BY 50;
+SELECT setval('admin_seq', COALESCE((SELECT MAX(id) FROM admin), 0) + 50, false);
+ALTER TABLE admin ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE admin ALTER COLUMN id DROP DEFAULT;
+
+CREATE SEQUENCE IF NOT EXISTS daily_rate_seq INCREMENT BY 50;
+SELECT setval('daily_rate_seq', COALESCE((SELECT MAX(id) FROM daily_rate), 0) + 50, false);
+ALTER TABLE daily_rate ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE daily_rate ALTER COLUMN id DROP DEFAULT;
+
+CREATE SEQUENCE IF NOT EXISTS daily_summary_seq INCREMENT BY 50;
+SELECT setval('daily_summary_seq', COALESCE((SELECT MAX(id) FROM daily_summary), 0) + 50, false);
+ALTER TABLE daily_summary ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE daily_summary ALTER COLUMN id DROP DEFAULT;
+
+CREATE SEQUENCE IF NOT EXISTS delivery_line_seq INCREMENT BY 50;
+SELECT setval('delivery_line_seq', COALESCE((SELECT MAX(id) FROM delivery_line), 0) + 50, false);
+ALTER TABLE delivery_line ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE delivery_line ALTER COLUMN id DROP DEFAULT;
+
+CREATE SEQUENCE IF NOT EXISTS driver_seq INCREMENT BY 50;
+SELECT setval('driver_seq', COALESCE((SELECT MAX(id) FROM driver), 0) + 50, false);
+ALTER TABLE driver ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE driver ALTER COLUMN id DROP DEFAULT;
+
+CREATE SEQUENCE IF NOT EXISTS orders_seq INCREMENT BY 50;
+SELECT setval('orders_seq', COALESCE((SELECT MAX(id) FROM orders), 0) + 50, false);
+ALTER TABLE orders ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE orders ALTER COLUMN id DROP DEFAULT;
+
+CREATE SEQUENCE IF NOT EXISTS payment_seq INCREMENT BY 50;
+SELECT setval('payment_seq', COALESCE((SELECT MAX(id) FROM payment), 0) + 50, false);
+ALTER TABLE payment ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE payment ALTER COLUMN id DROP DEFAULT;
+
+CREATE SEQUENCE IF NOT EXISTS rate_settings_seq INCREMENT BY 50;
+SELECT setval('rate_settings_seq', COALESCE((SELECT MAX(id) FROM rate_settings), 0) + 50, false);
+ALTER TABLE rate_settings ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE rate_settings ALTER COLUMN id DROP DEFAULT;
+
+CREATE SEQUENCE IF NOT EXISTS trip_seq INCREMENT BY 50;
+SELECT setval('trip_seq', COALESCE((SELECT MAX(id) FROM trip), 0) + 50, false);
+ALTER TABLE trip ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE trip ALTER COLUMN id DROP DEFAULT;
+
+CREATE SEQUENCE IF NOT EXISTS trip_stop_seq INCREMENT BY 50;
+SELECT setval('trip_stop_seq', COALESCE((SELECT MAX(id) FROM trip_stop), 0) + 50, false);
+ALTER TABLE trip_stop ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE trip_stop ALTER COLUMN id DROP DEFAULT;
+
+CREATE SEQUENCE IF NOT EXISTS vendor_seq INCREMENT BY 50;
+SELECT setval('vendor_seq', COALESCE((SELECT MAX(id) FROM vendor), 0) + 50, false);
+ALTER TABLE vendor ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE vendor ALTER COLUMN id DROP DEFAULT;
+
+CREATE SEQUENCE IF NOT EXISTS vendor_ledger_seq INCREMENT BY 50;
+SELECT setval('vendor_ledger_seq', COALESCE((SELECT MAX(id) FROM vendor_ledger), 0) + 50, false);
+ALTER TABLE vendor_ledger ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE vendor_ledger ALTER COLUMN id DROP DEFAULT;
+
+CREATE SEQUENCE IF NOT EXISTS vendor_payment_seq INCREMENT BY 50;
+SELECT setval('vendor_payment_seq', COALESCE((SELECT MAX(id) FROM vendor_payment), 0) + 50, false);
+ALTER TABLE vendor_payment ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE vendor_payment ALTER COLUMN id DROP DEFAULT;
+
+CREATE SEQUENCE IF NOT EXISTS vendor_rate_offset_seq INCREMENT BY 50;
+SELECT setval('vendor_rate_offset_seq', COALESCE((SELECT MAX(id) FROM vendor_rate_offset), 0) + 50, false);
+ALTER TABLE vendor_rate_offset ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE vendor_rate_offset ALTER COLUMN id DROP DEFAULT;
+
+-- Vendor ledger projection
+ALTER TABLE vendor_ledger ADD COLUMN IF NOT EXISTS type VARCHAR(255);
+CREATE INDEX IF NOT EXISTS idx_vendor_ledger_vendor_date_id ON vendor_ledger (vendor_id, date, id);
+
+-- Aggregate lookups and one summary per vendor per day
+CREATE UNIQUE INDEX IF NOT EXISTS idx_daily_summary_vendor_date ON daily_summary (vendor_id, summary_date);
+CREATE INDEX IF NOT EXISTS idx_vendor_payment_vendor_date ON vendor_payment (vendor_id, payment_date);
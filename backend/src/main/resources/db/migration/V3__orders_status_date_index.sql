@@ -0,0 +1,2 @@
+-- Serves the dispatch board's pending-order queue: keyset pages on (order_date, id) within a status
+CREATE INDEX IF NOT EXISTS idx_orders_status_date_id ON orders (status, order_date, id);
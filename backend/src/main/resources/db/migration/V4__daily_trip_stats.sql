@@ -0,0 +1,30 @@
+-- Per-day rollup of trips and assigned orders read by the dashboard and trip reports, backfilled from
+-- existing trips. Afterwards it is maintained incrementally by TripStatsService.
+
+CREATE SEQUENCE IF NOT EXISTS daily_trip_stats_seq INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS daily_trip_stats (
+    id              BIGINT PRIMARY KEY,
+    stat_date       DATE    NOT NULL,
+    total_trips     INTEGER NOT NULL,
+    completed_trips INTEGER NOT NULL,
+    total_orders    INTEGER NOT NULL,
+    total_units     BIGINT  NOT NULL
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS idx_daily_trip_stats_date ON daily_trip_stats (stat_date);
+
+INSERT INTO daily_trip_stats (id, stat_date, total_trips, completed_trips, total_orders, total_units)
+SELECT nextval('daily_trip_stats_seq'), s.trip_date, s.total_trips, s.completed_trips, s.total_orders, s.total_units
+FROM (
+    SELECT t.trip_date,
+           COUNT(DISTINCT t.id)                                        AS total_trips,
+           COUNT(DISTINCT CASE WHEN t.status = 'COMPLETED' THEN t.id END) AS completed_trips,
+           COUNT(o.id)                                                 AS total_orders,
+           COALESCE(SUM(o.assigned_units), 0)                          AS total_units
+    FROM trip t
+    LEFT JOIN orders o ON o.trip_id = t.id
+    WHERE t.trip_date IS NOT NULL
+    GROUP BY t.trip_date
+) s
+ON CONFLICT DO NOTHING;
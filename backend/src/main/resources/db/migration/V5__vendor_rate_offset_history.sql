@@ -0,0 +1,9 @@
+-- Offsets are resolved by effective date. One entry per vendor and day, and every vendor without history
+-- gets a baseline entry carrying its current offset so past dates keep resolving to it.
+
+CREATE UNIQUE INDEX IF NOT EXISTS idx_vendor_rate_offset_vendor_date ON vendor_rate_offset (vendor_id, effective_date);
+
+INSERT INTO vendor_rate_offset (id, vendor_id, effective_date, offset_value)
+SELECT nextval('vendor_rate_offset_seq'), v.id, DATE '1970-01-01', COALESCE(v.rate_offset, 0)
+FROM vendor v
+WHERE NOT EXISTS (SELECT 1 FROM vendor_rate_offset o WHERE o.vendor_id = v.id);
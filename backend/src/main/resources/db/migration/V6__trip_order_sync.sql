@@ -0,0 +1,20 @@
+-- Delta sync for the driver app: change stamps on trips and orders, and tombstones for orders and trips
+-- that left a driver's view. Existing rows are stamped with the migration time.
+
+ALTER TABLE orders ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now();
+ALTER TABLE trip ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now();
+
+CREATE INDEX IF NOT EXISTS idx_orders_trip_updated_at ON orders (trip_id, updated_at);
+CREATE INDEX IF NOT EXISTS idx_trip_driver_date ON trip (driver_id, trip_date);
+
+CREATE SEQUENCE IF NOT EXISTS sync_tombstone_seq INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS sync_tombstone (
+    id          BIGINT PRIMARY KEY,
+    driver_id   BIGINT                   NOT NULL REFERENCES driver (id),
+    entity_type VARCHAR(255)             NOT NULL,
+    entity_id   BIGINT                   NOT NULL,
+    removed_at  TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_sync_tombstone_driver_removed ON sync_tombstone (driver_id, removed_at);
@@ -0,0 +1,14 @@
+-- Idempotency keys of applied delivery entries, so a driver app replaying a batch after a lost response does
+-- not apply an entry twice. Rows are purged once no device could still be retrying them.
+
+CREATE SEQUENCE IF NOT EXISTS delivery_submission_seq INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS delivery_submission (
+    id              BIGINT PRIMARY KEY,
+    submitted_by    VARCHAR(255)             NOT NULL,
+    idempotency_key VARCHAR(100)             NOT NULL,
+    order_id        BIGINT                   NOT NULL,
+    submitted_at    TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS idx_delivery_submission_user_key ON delivery_submission (submitted_by, idempotency_key);
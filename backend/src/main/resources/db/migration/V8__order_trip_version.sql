@@ -0,0 +1,5 @@
+-- Optimistic-lock versions on orders and trips. Order assignment also bumps the order version in its
+-- conditional UPDATE, so a concurrent entity write based on the pre-assignment row fails instead of undoing it.
+
+ALTER TABLE orders ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE trip ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
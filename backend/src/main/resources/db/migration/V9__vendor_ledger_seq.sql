@@ -0,0 +1,9 @@
+-- Posting order for ledger rows. Ids come from a pooled sequence shared by Hibernate and batched inserts,
+-- so they do not follow insertion order. Existing rows get 0, and the startup ledger backfill rebuilds every
+-- vendor that still has such rows, numbering them and recomputing their running balances.
+
+ALTER TABLE vendor_ledger ADD COLUMN IF NOT EXISTS seq BIGINT NOT NULL DEFAULT 0;
+
+DROP INDEX IF EXISTS idx_vendor_ledger_vendor_date_id;
+CREATE INDEX IF NOT EXISTS idx_vendor_ledger_vendor_date_seq ON vendor_ledger (vendor_id, date, seq);
+CREATE INDEX IF NOT EXISTS idx_vendor_ledger_vendor_seq ON vendor_ledger (vendor_id, seq);
@@ -0,0 +1,112 @@
+package com.example.broiler.service;
+
+import com.example.broiler.BroilerApplication;
+import com.example.broiler.domain.Driver;
+import com.example.broiler.domain.Order;
+import com.example.broiler.domain.OrderStatus;
+import com.example.broiler.domain.Trip;
+import com.example.broiler.domain.Vendor;
+import com.example.broiler.domain.VendorLedger;
+import com.example.broiler.web.dto.VendorLedgerDto;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfigurationPackage;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Guards the vendor ledger read against N+1 queries: the trip details of every invoice on a page come from
+ * one query, so the statement count must not grow with the number of invoices.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.sql.init.mode=never",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@ActiveProfiles("test")
+@Import(LedgerService.class)
+class LedgerServiceQueryCountTest {
+
+    private static final LocalDate START = LocalDate.of(2024, 1, 1);
+
+    // BroilerApplication's explicit @ComponentScan would pull every bean into the slice; this only sets the
+    // package that entities and repositories are found in
+    @SpringBootConfiguration
+    @AutoConfigurationPackage(basePackageClasses = BroilerApplication.class)
+    static class TestConfig {
+    }
+
+    @Autowired
+    private LedgerService ledgerService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockBean
+    private LedgerProjectionService ledgerProjectionService;
+
+    @Test
+    void statementCountDoesNotGrowWithInvoicesOnThePage() {
+        Long oneInvoiceVendor = seedVendor("One", 1);
+        Long manyInvoicesVendor = seedVendor("Many", 20);
+
+        long oneInvoiceStatements = countStatements(oneInvoiceVendor, 1);
+        long manyInvoicesStatements = countStatements(manyInvoicesVendor, 20);
+
+        assertThat(manyInvoicesStatements).isEqualTo(oneInvoiceStatements);
+    }
+
+    private long countStatements(Long vendorId, int expectedInvoices) {
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        VendorLedgerDto ledger = ledgerService.getVendorLedger(vendorId, null, null, null);
+
+        assertThat(ledger.getLedgerEntries()).hasSize(expectedInvoices)
+                .allSatisfy(entry -> assertThat(entry.getTripDetails()).hasSize(1));
+        return statistics.getPrepareStatementCount();
+    }
+
+    /**
+     * A vendor with one invoice per day for {@code days} days, each backed by an order on its own trip.
+     */
+    private Long seedVendor(String name, int days) {
+        Vendor vendor = entityManager.persist(Vendor.builder().name(name).build());
+        Driver driver = entityManager.persist(Driver.builder()
+                .name("Driver " + name).username("driver-" + name).password("x").build());
+
+        BigDecimal balance = BigDecimal.ZERO;
+        for (int d = 0; d < days; d++) {
+            LocalDate date = START.plusDays(d);
+            Trip trip = entityManager.persist(Trip.builder()
+                    .tripDate(date).status("COMPLETED").driver(driver).routeName("Route " + d).build());
+            entityManager.persist(Order.builder()
+                    .vendor(vendor).trip(trip).orderDate(date).assignedUnits(10)
+                    .weight(BigDecimal.valueOf(20)).status(OrderStatus.DELIVERED).build());
+
+            balance = balance.add(BigDecimal.valueOf(100));
+            entityManager.persist(VendorLedger.builder()
+                    .vendor(vendor).date(date).seq((long) d + 1).description("Invoice " + d)
+                    .debit(BigDecimal.valueOf(100)).credit(BigDecimal.ZERO).balance(balance)
+                    .referenceId(String.valueOf(d)).type(LedgerProjectionService.TYPE_INVOICE).build());
+        }
+        return vendor.getId();
+    }
+}
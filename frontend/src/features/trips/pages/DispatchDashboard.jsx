@@ -180,6 +180,7 @@ export default function DispatchDashboard() {
     const [isNewOrderModalOpen, setIsNewOrderModalOpen] = useState(false);
     const [isNewTripModalOpen, setIsNewTripModalOpen] = useState(false);
     const [isConfirming, setIsConfirming] = useState(null);
+    const [isLoadingMore, setIsLoadingMore] = useState(false);
     const navigate = useNavigate();
 
     const fetchData = useCallback(async () => {
@@ -202,6 +203,30 @@ export default function DispatchDashboard() {
         fetchData();
     }, [date, fetchData]);
 
+    // The board loads the oldest pending orders first; later pages come from the pending-order queue
+    const loadMorePending = async () => {
+        if (!dispatchData.pendingNextAfterDate) return;
+        setIsLoadingMore(true);
+        try {
+            const page = await DispatchApi.getPendingOrders(date, dispatchData.pendingNextAfterDate, dispatchData.pendingNextAfterId);
+            setDispatchData(currentData => {
+                const shown = new Set(currentData.pendingOrders.map(o => o.id));
+                return {
+                    ...currentData,
+                    pendingOrders: [...currentData.pendingOrders, ...page.orders.filter(o => !shown.has(o.id))],
+                    pendingTotalCount: page.totalCount,
+                    pendingNextAfterDate: page.nextAfterDate,
+                    pendingNextAfterId: page.nextAfterId
+                };
+            });
+        } catch (error) {
+            console.error('Failed to load more pending orders:', error);
+            toast.error('Error: Could not load more pending orders. ' + error.message);
+        } finally {
+            setIsLoadingMore(false);
+        }
+    };
+
     const handleDrop = (order, targetId) => {
         setDispatchData(currentData => {
             let newPending = [...currentData.pendingOrders];
@@ -247,7 +272,7 @@ export default function DispatchDashboard() {
                 });
             }
 
-            return { pendingOrders: newPending, plannedTrips: newTrips };
+            return { ...currentData, pendingOrders: newPending, plannedTrips: newTrips };
         });
     };
 
@@ -259,7 +284,16 @@ export default function DispatchDashboard() {
 
         setIsConfirming(tripId);
         try {
-            await DispatchApi.assignOrdersToTrip(tripId, orderIds);
+            const result = await DispatchApi.assignOrdersToTrip(tripId, orderIds);
+            if (result.conflicts.length > 0) {
+                // Another dispatcher got there first; the other orders are on the trip, so reload to show where these went
+                const details = result.conflicts.map(c => c.reason === 'ASSIGNED_TO_OTHER_TRIP'
+                    ? `#${c.orderId} is already on trip ${c.tripId}`
+                    : c.reason === 'NOT_PENDING' ? `#${c.orderId} is no longer pending` : `#${c.orderId} no longer exists`);
+                toast.error(`Trip saved, but ${result.conflicts.length} order(s) could not be added: ${details.join('; ')}`, { duration: 8000 });
+                fetchData();
+                return;
+            }
             toast.success('Trip confirmed successfully!');
             navigate('/dashboard');
         } catch (error) {
@@ -308,7 +342,10 @@ export default function DispatchDashboard() {
                 <div className="flex justify-between items-center mb-6">
                     <div>
                         <h2 className="font-bold text-xl text-slate-900">Pending Orders</h2>
-                        <p className="text-sm text-slate-500">Drag to assign</p>
+                        <p className="text-sm text-slate-500">
+                            Drag to assign
+                            {dispatchData.pendingNextAfterDate && ` · oldest ${dispatchData.pendingOrders.length} of ${dispatchData.pendingTotalCount} shown`}
+                        </p>
                     </div>
                     <Button
                         onClick={() => setIsNewOrderModalOpen(true)}
@@ -320,6 +357,17 @@ export default function DispatchDashboard() {
                 </div>
                 <div className="space-y-3 flex-1 overflow-y-auto pr-2 custom-scrollbar">
                     {children}
+                    {dispatchData.pendingNextAfterDate && (
+                        <Button
+                            onClick={loadMorePending}
+                            disabled={isLoadingMore}
+                            variant="ghost"
+                            size="sm"
+                            className="w-full"
+                        >
+                            {isLoadingMore ? 'Loading...' : 'Load more pending orders'}
+                        </Button>
+                    )}
                     {dispatchData.pendingOrders.length === 0 && (
                         <div className="text-center text-slate-400 py-12 border-2 border-dashed border-slate-100 rounded-xl">
                             <p>No pending orders</p>
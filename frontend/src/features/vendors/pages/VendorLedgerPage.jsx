@@ -7,12 +7,15 @@ import Table, { TableHeader, TableBody, TableRow, TableHead, TableCell } from '.
 import { DollarSign, Receipt, CreditCard, ArrowRightLeft } from 'lucide-react';
 
 import BackButton from '../../../components/ui/BackButton';
+import Button from '../../../components/ui/Button';
+import toast from 'react-hot-toast';
 
 export default function VendorLedgerPage() {
     const { vendorId } = useParams();
     const [ledgerData, setLedgerData] = useState(null);
     const [error, setError] = useState('');
     const [loading, setLoading] = useState(true);
+    const [isLoadingMore, setIsLoadingMore] = useState(false);
 
     useEffect(() => {
         const fetchLedger = async () => {
@@ -30,6 +33,26 @@ export default function VendorLedgerPage() {
         fetchLedger();
     }, [vendorId]);
 
+    // The ledger comes a page at a time, newest first; older pages are appended below
+    const loadOlderEntries = async () => {
+        if (!ledgerData.nextBeforeDate) return;
+        setIsLoadingMore(true);
+        try {
+            const page = await VendorApi.getLedger(vendorId, ledgerData.nextBeforeDate, ledgerData.nextBeforeSeq);
+            setLedgerData(currentData => ({
+                ...currentData,
+                ledgerEntries: [...currentData.ledgerEntries, ...page.ledgerEntries],
+                nextBeforeDate: page.nextBeforeDate,
+                nextBeforeSeq: page.nextBeforeSeq
+            }));
+        } catch (e) {
+            console.error('Failed to load older ledger entries:', e);
+            toast.error('Error: Could not load older entries. ' + e.message);
+        } finally {
+            setIsLoadingMore(false);
+        }
+    };
+
     if (loading) {
         return (
             <div className="flex justify-center items-center h-64">
@@ -173,6 +196,17 @@ export default function VendorLedgerPage() {
                     ) : (
                         <p className="text-center text-slate-500 py-8">No transactions found.</p>
                     )}
+                    {ledgerData.nextBeforeDate && (
+                        <Button
+                            onClick={loadOlderEntries}
+                            disabled={isLoadingMore}
+                            variant="ghost"
+                            size="sm"
+                            className="w-full mt-4"
+                        >
+                            {isLoadingMore ? 'Loading...' : 'Load older entries'}
+                        </Button>
+                    )}
                 </CardBody>
             </Card>
         </div>
@@ -64,7 +64,9 @@ export const VendorApi = {
   list: () => apiFetch('/api/vendors'),
   getFinancials: () => apiFetch('/api/ledger/vendors'),
   create: (vendor) => apiFetch('/api/vendors', { method: 'POST', body: JSON.stringify(vendor) }),
-  getLedger: (vendorId) => apiFetch(`/api/vendors/${vendorId}/ledger`)
+  getLedger: (vendorId, beforeDate, beforeSeq) => apiFetch(beforeDate
+    ? `/api/vendors/${vendorId}/ledger?beforeDate=${beforeDate}&beforeSeq=${beforeSeq}`
+    : `/api/vendors/${vendorId}/ledger`)
 }
 
 export const DriverApi = {
@@ -74,6 +76,7 @@ export const DriverApi = {
 
 export const DispatchApi = {
   getDispatchData: (date) => apiFetch(`/api/dispatch?date=${date}`),
+  getPendingOrders: (endDate, afterDate, afterId) => apiFetch(`/api/dispatch/pending-orders?endDate=${endDate}&afterDate=${afterDate}&afterId=${afterId}`),
   createOrder: (order) => apiFetch('/api/dispatch/orders', { method: 'POST', body: JSON.stringify(order) }),
   assignOrdersToTrip: (tripId, orderIds) => apiFetch('/api/dispatch/assign-orders', { method: 'POST', body: JSON.stringify({ tripId, orderIds }) }),
   updateOrderDetails: (orderId, details) => apiFetch(`/api/dispatch/orders/${orderId}`, { method: 'PUT', body: JSON.stringify(details) }),